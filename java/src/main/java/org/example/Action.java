@@ -0,0 +1,105 @@
+package org.example;
+
+/**
+ * Encoding of a single validated action in one int, as returned by {@link Game#prepareMove} and
+ * {@link Game#prepareBuild} and consumed by {@link Game#executeAction(int)}.
+ * <pre>
+ * bits 0-1    worker slot (0-1 first player, 2-3 second player)
+ * bits 2-8    target cell: where the worker moves to, or where it builds
+ * bits 9-15   cell the displaced opponent ends on (Apollo swap, Minotaur push), or {@link #NONE}
+ * bit  16     set for a build, clear for a move
+ * bit  17     set when the build places a dome
+ * bit  18     set when the move wins the game
+ * </pre>
+ * Everything the god cards decide about an action is resolved when the token is made,
+ * so executing it needs no further legality check. A token is only valid for the position it was made in.
+ * A refused action is a negative code instead, {@code ~reason.ordinal()}, read back with {@link #reason(int)}.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class Action {
+    public static final int NONE = 127;
+    private static final int CELL_MASK = 0x7F;
+    private static final int CELL_SHIFT = 2;
+    private static final int DISPLACED_SHIFT = 9;
+    private static final int BUILD_BIT = 1 << 16;
+    private static final int DOME_BIT = 1 << 17;
+    private static final int WIN_BIT = 1 << 18;
+
+    private Action() {
+    }
+
+    /**
+     * Packs a move.
+     *
+     * @param workerSlot    The slot of the worker that moves.
+     * @param cell          The cell it moves to.
+     * @param displacedCell The cell the displaced opponent ends on, or {@link #NONE}.
+     * @param win           true if the move wins.
+     * @return The encoded action.
+     */
+    public static int move(int workerSlot, int cell, int displacedCell, boolean win) {
+        return workerSlot | cell << CELL_SHIFT | displacedCell << DISPLACED_SHIFT | (win ? WIN_BIT : 0);
+    }
+
+    /**
+     * Packs a build.
+     *
+     * @param workerSlot The slot of the worker that builds.
+     * @param cell       The cell it builds on.
+     * @param dome       true if the build places a dome.
+     * @return The encoded action.
+     */
+    public static int build(int workerSlot, int cell, boolean dome) {
+        return workerSlot | cell << CELL_SHIFT | NONE << DISPLACED_SHIFT | BUILD_BIT | (dome ? DOME_BIT : 0);
+    }
+
+    /**
+     * Encodes a refused action.
+     *
+     * @param reason The rule the action breaks; never {@link RuleResult#OK}.
+     * @return A negative code.
+     */
+    public static int rejected(RuleResult reason) {
+        return ~reason.ordinal();
+    }
+
+    public static boolean isRejected(int action) {
+        return action < 0;
+    }
+
+    /**
+     * Reads why an action was refused.
+     *
+     * @param action The code returned by {@link Game#prepareMove} or {@link Game#prepareBuild}.
+     * @return The broken rule, or {@link RuleResult#OK} if the code is a valid token.
+     */
+    public static RuleResult reason(int action) {
+        return action < 0 ? RuleResult.of(~action) : RuleResult.OK;
+    }
+
+    public static int workerSlot(int action) {
+        return action & 0x3;
+    }
+
+    public static int cell(int action) {
+        return (action >>> CELL_SHIFT) & CELL_MASK;
+    }
+
+    public static int displacedCell(int action) {
+        return (action >>> DISPLACED_SHIFT) & CELL_MASK;
+    }
+
+    public static boolean isBuild(int action) {
+        return (action & BUILD_BIT) != 0;
+    }
+
+    public static boolean isDome(int action) {
+        return (action & DOME_BIT) != 0;
+    }
+
+    public static boolean isWin(int action) {
+        return (action & WIN_BIT) != 0;
+    }
+}
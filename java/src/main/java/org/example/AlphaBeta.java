@@ -0,0 +1,551 @@
+package org.example;
+
+import org.example.godcards.GodCardFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computer player: alpha-beta (negamax) search over complete turns with iterative deepening and a time budget.
+ * Turns come from {@link Game#generateTurns(int[])} and are played and taken back with
+ * {@link Game#makeTurn(int)} / {@link Game#unmakeTurn()}, so the search follows the same rules and god cards as
+ * human play. Each iteration searches one turn deeper, trying the previous best root turn first; an iteration cut
+ * off by the budget is thrown away and the last completed one answers. Depth 1 always completes, so a turn is
+ * always found while one exists.
+ * <p>
+ * Every position searched at least one turn deep is recorded in a {@link TranspositionTable}, keyed by the game's
+ * Zobrist key XOR its {@link Zobrist#rules rules key} so one table can serve many games. A stored bound deep enough
+ * ends the node at once; otherwise its best turn is searched first.
+ * <p>
+ * With more than one thread the search runs Lazy SMP: helper threads search their own {@link Game#fork() forks}
+ * of the position with the same iterative deepening, odd helpers one turn deeper, and share only the table. The
+ * helpers fill the table ahead of the main thread, which answers as soon as its own deepening stops.
+ * <p>
+ * Leaves are scored from the side to move: a worker that can step up to level 3 (read from the board's win-threat
+ * index) counts as a win, otherwise the score weighs worker heights, centrality, mobility and the opponent's
+ * winning threats.
+ * <p>
+ * Usage: {@code java -cp target/classes org.example.AlphaBeta [budgetMillis] [godA] [godB] [--hash MB]
+ * [--threads N]} searches the perft opening and prints every completed depth with its table hit rate;
+ * {@code --hash 0} searches without a table, to measure the nodes it saves, and {@code --threads} repeats each
+ * depth on N threads and prints the speedup over one thread.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class AlphaBeta {
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+    public static final int MAX_DEPTH = 32;
+    public static final int NO_TURN = -1;
+    public static final int WIN = 1_000_000;
+    public static final int DEFAULT_TABLE_MEGABYTES = 16;
+    private static final int INFINITY = WIN + 1;
+    private static final int FORCED = WIN - MAX_DEPTH - 1; // Scores at least this far from 0 are forced wins or losses
+    private static final int CHECK_INTERVAL = 1023; // Nodes between deadline checks, minus one
+    private static final int[] HEIGHT_SCORE = {0, 40, 120, 120};
+    private static final int CENTRE_SCORE = 4;
+    private static final int MOBILITY_SCORE = 3;
+    private static final int THREAT_SCORE = 150;
+    private static final int KILLER_PRIORITY = 1 << 10;
+    private static final int HASH_PRIORITY = 1 << 11;
+    // Helper threads for parallel searches, shared by every engine so a move starts no new threads
+    private static final ExecutorService HELPERS = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "alpha-beta-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Outcome of a search: the best turn, its score and the depth that produced it.
+     */
+    public static final class Result {
+        private final int turn;
+        private final int score;
+        private final int depth;
+        private final long nodes;
+        private final long nanos;
+        private final long tableProbes;
+        private final long tableHits;
+        private final long tableCutoffs;
+
+        Result(int turn, int score, int depth, long nodes, long nanos, long tableProbes, long tableHits, long tableCutoffs) {
+            this.turn = turn;
+            this.score = score;
+            this.depth = depth;
+            this.nodes = nodes;
+            this.nanos = nanos;
+            this.tableProbes = tableProbes;
+            this.tableHits = tableHits;
+            this.tableCutoffs = tableCutoffs;
+        }
+
+        /**
+         * Getter for the best turn
+         *
+         * @return encoded turn, see {@link Turn}, or {@link #NO_TURN} if the side to move has none
+         */
+        public int getTurn() {
+            return turn;
+        }
+
+        /**
+         * Getter for the score of the best turn, from the mover's point of view
+         *
+         * @return score; within {@link #MAX_DEPTH} of {@code WIN} or {@code -WIN} for a forced win or loss
+         */
+        public int getScore() {
+            return score;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getTableProbes() {
+            return tableProbes;
+        }
+
+        public long getTableHits() {
+            return tableHits;
+        }
+
+        /**
+         * Getter for the number of nodes answered by the transposition table without searching them
+         *
+         * @return table cutoffs
+         */
+        public long getTableCutoffs() {
+            return tableCutoffs;
+        }
+    }
+
+    private final int[][] buffers = new int[MAX_DEPTH + 1][TurnGenerator.MAX_TURNS];
+    private final int[] priorities = new int[TurnGenerator.MAX_TURNS];
+    private final int[] killers = new int[MAX_DEPTH + 1];
+    private final TranspositionTable table;
+    private long rulesKey;
+    private long deadline;
+    private boolean timed;
+    private boolean stopped;
+    private volatile boolean halted; // Set by the main thread of a parallel search to stop a helper
+    private int depthOffset;
+    private long nodes;
+    private long tableProbes;
+    private long tableHits;
+    private long tableCutoffs;
+
+    /**
+     * Creates an engine with its own {@link #DEFAULT_TABLE_MEGABYTES} transposition table.
+     */
+    public AlphaBeta() {
+        this(new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * Creates an engine using a transposition table that may be shared with other engines.
+     *
+     * @param table The table, or null to search without one.
+     */
+    public AlphaBeta(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Searches for the best turn of the player to move within {@link #MAX_DEPTH}.
+     *
+     * @param game         The game to search; its current phase must be MOVE. It is returned to its position.
+     * @param budgetMillis The time budget in milliseconds.
+     * @return The best turn found and how it was found.
+     */
+    public Result search(Game game, long budgetMillis) {
+        return search(game, budgetMillis, MAX_DEPTH);
+    }
+
+    /**
+     * Searches for the best turn of the player to move, one turn deeper per iteration until the budget
+     * or the depth limit is reached or a forced result is found.
+     * The game is searched in place; pass a {@link Game#fork()} to leave a live game untouched.
+     *
+     * @param game         The game to search; its current phase must be MOVE. It is returned to its position.
+     * @param budgetMillis The time budget in milliseconds.
+     * @param maxDepth     The deepest iteration, in turns, from 1 to {@link #MAX_DEPTH}.
+     * @return The best turn found and how it was found.
+     */
+    public Result search(Game game, long budgetMillis, int maxDepth) {
+        long start = System.nanoTime();
+        deadline = start + budgetMillis * 1_000_000L;
+        nodes = 0;
+        tableProbes = 0;
+        tableHits = 0;
+        tableCutoffs = 0;
+        rulesKey = rulesKey(game);
+        stopped = false;
+        timed = false;
+        Arrays.fill(killers, NO_TURN);
+        int bestTurn = NO_TURN;
+        int bestScore = -INFINITY;
+        int depth = 0;
+        for (int iteration = 1 + depthOffset; iteration <= Math.min(maxDepth, MAX_DEPTH); iteration++) {
+            int[] iterationResult = searchRoot(game, iteration, bestTurn);
+            if (stopped) {
+                break;
+            }
+            bestTurn = iterationResult[0];
+            bestScore = iterationResult[1];
+            depth = iteration;
+            timed = true;
+            if (bestTurn == NO_TURN || Math.abs(bestScore) >= FORCED) {
+                break;
+            }
+        }
+        return new Result(bestTurn, bestScore, depth, nodes, System.nanoTime() - start,
+                tableProbes, tableHits, tableCutoffs);
+    }
+
+    /**
+     * Searches for the best turn of the player to move on several threads (Lazy SMP). The calling thread runs the
+     * main search on the game; each of the other threads searches its own fork, and all share this engine's table.
+     * The answer is the main search's; the node and table counts add up every thread.
+     * Helpers run on a pool with one thread per processor; any more wait for a free thread.
+     *
+     * @param game         The game to search; its current phase must be MOVE. It is returned to its position.
+     * @param budgetMillis The time budget in milliseconds.
+     * @param maxDepth     The deepest iteration, in turns, from 1 to {@link #MAX_DEPTH}.
+     * @param threads      The number of threads, including the calling one.
+     * @return The best turn found and how it was found.
+     */
+    public Result search(Game game, long budgetMillis, int maxDepth, int threads) {
+        if (threads <= 1) {
+            return search(game, budgetMillis, maxDepth);
+        }
+        if (table == null) {
+            throw new IllegalStateException("A parallel search needs a shared transposition table.");
+        }
+        List<AlphaBeta> helpers = new ArrayList<>();
+        List<Future<Result>> futures = new ArrayList<>();
+        try {
+            for (int i = 1; i < threads; i++) {
+                AlphaBeta helper = new AlphaBeta(table);
+                helper.depthOffset = i & 1;
+                Game copy = game.fork();
+                helpers.add(helper);
+                futures.add(HELPERS.submit(() -> helper.search(copy, budgetMillis, maxDepth)));
+            }
+            Result main = search(game, budgetMillis, maxDepth);
+            helpers.forEach(helper -> helper.halted = true);
+            long totalNodes = main.getNodes();
+            long probes = main.getTableProbes();
+            long hits = main.getTableHits();
+            long cutoffs = main.getTableCutoffs();
+            for (Future<Result> future : futures) {
+                Result helped = future.get();
+                totalNodes += helped.getNodes();
+                probes += helped.getTableProbes();
+                hits += helped.getTableHits();
+                cutoffs += helped.getTableCutoffs();
+            }
+            return new Result(main.getTurn(), main.getScore(), main.getDepth(), totalNodes, main.getNanos(),
+                    probes, hits, cutoffs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed.", e.getCause());
+        } finally {
+            helpers.forEach(helper -> helper.halted = true);
+        }
+    }
+
+    /**
+     * Helper method to search every root turn to a depth, trying the previous best first
+     *
+     * @param game     game at the root
+     * @param depth    iteration depth in turns
+     * @param previous best turn of the previous iteration, or NO_TURN
+     * @return best turn and its score
+     */
+    private int[] searchRoot(Game game, int depth, int previous) {
+        int[] turns = buffers[0];
+        int count = game.generateTurns(turns);
+        orderTurns(game, turns, count, 0, previous);
+        int bestTurn = count == 0 ? NO_TURN : turns[0];
+        int alpha = -INFINITY;
+        for (int i = 0; i < count; i++) {
+            int score = scoreTurn(game, turns[i], depth, 0, alpha, INFINITY);
+            if (stopped) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestTurn = turns[i];
+            }
+        }
+        return new int[]{bestTurn, count == 0 ? -WIN : alpha};
+    }
+
+    /**
+     * Helper method for the negamax search of the position below the root
+     *
+     * @param game  game to search
+     * @param depth remaining depth in turns
+     * @param ply   turns played since the root
+     * @param alpha lower bound for the side to move
+     * @param beta  upper bound for the side to move
+     * @return score from the side to move's point of view
+     */
+    private int search(Game game, int depth, int ply, int alpha, int beta) {
+        if ((++nodes & CHECK_INTERVAL) == 0 && (halted || timed && System.nanoTime() > deadline)) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        if (depth == 0) {
+            return game.canWinNextMove(game.getCurrentPlayer()) ? WIN - ply - 1 : evaluate(game);
+        }
+        long key = 0;
+        int hashTurn = NO_TURN;
+        if (table != null) {
+            key = game.getZobristKey() ^ rulesKey;
+            tableProbes++;
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.MISS) {
+                tableHits++;
+                hashTurn = TranspositionTable.turn(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || bound == TranspositionTable.LOWER && score >= beta
+                            || bound == TranspositionTable.UPPER && score <= alpha) {
+                        tableCutoffs++;
+                        return score;
+                    }
+                }
+            }
+        }
+        int[] turns = buffers[ply];
+        int count = game.generateTurns(turns);
+        if (count == 0) {
+            return -WIN + ply; // A player who cannot complete a turn loses
+        }
+        for (int i = 0; i < count; i++) {
+            if (Turn.isWin(turns[i])) {
+                return WIN - ply - 1;
+            }
+        }
+        orderTurns(game, turns, count, ply, hashTurn);
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestTurn = turns[0];
+        for (int i = 0; i < count; i++) {
+            int score = scoreTurn(game, turns[i], depth, ply, alpha, beta);
+            if (stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestTurn = turns[i];
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                killers[ply] = turns[i];
+                break;
+            }
+        }
+        if (table != null) {
+            int bound = bestScore <= originalAlpha ? TranspositionTable.UPPER
+                    : bestScore >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            table.store(key, bestTurn, toTable(bestScore, ply), depth, bound);
+        }
+        return bestScore;
+    }
+
+    /**
+     * Helper method to make a forced score relative to the node before storing it, so it stays right when the
+     * position is reached at another ply
+     *
+     * @param score score relative to the root
+     * @param ply   ply of the node
+     * @return score relative to the node
+     */
+    private static int toTable(int score, int ply) {
+        return score >= FORCED ? score + ply : score <= -FORCED ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return score >= FORCED ? score - ply : score <= -FORCED ? score + ply : score;
+    }
+
+    /**
+     * Helper method for the key of the rules a game is played under
+     *
+     * @param game game to search
+     * @return rules key, see {@link Zobrist#rules}
+     */
+    private static long rulesKey(Game game) {
+        MoveTables tables = game.getBoard().getTables();
+        return Zobrist.rules(tables.getWidth(), tables.getHeight(),
+                GodCardFactory.idOf(game.getGodCards().get(game.getPlayer(0))),
+                GodCardFactory.idOf(game.getGodCards().get(game.getPlayer(1))));
+    }
+
+    /**
+     * Helper method to play a turn, score the position after it for the mover, and take it back
+     *
+     * @param game  game to search
+     * @param turn  encoded turn
+     * @param depth remaining depth including this turn
+     * @param ply   turns played before this one
+     * @param alpha lower bound for the mover
+     * @param beta  upper bound for the mover
+     * @return score from the mover's point of view
+     */
+    private int scoreTurn(Game game, int turn, int depth, int ply, int alpha, int beta) {
+        Player mover = game.getCurrentPlayer();
+        if (!game.makeTurn(turn)) {
+            throw new IllegalStateException("Generated turn was rejected by the rules: " + Turn.toString(turn));
+        }
+        int score;
+        if (game.getGamePhase() == Game.GamePhase.GAME_OVER) {
+            String winner = game.getWinnerID();
+            score = mover.getPlayerID().equals(winner) ? WIN - ply - 1 : winner == null ? 0 : -WIN + ply + 1;
+        } else {
+            score = -search(game, depth - 1, ply + 1, -beta, -alpha);
+        }
+        game.unmakeTurn();
+        return score;
+    }
+
+    /**
+     * Helper method to sort turns so the likely best are searched first: the best turn remembered for this position,
+     * the killer turn of this ply (the one that last caused a cutoff here), then turns that climb higher or dome a
+     * cell the opponent could win on
+     *
+     * @param game     game the turns were generated in
+     * @param turns    turns to sort in place
+     * @param count    number of turns
+     * @param ply      turns played since the root
+     * @param hashTurn best turn from the table or the previous iteration, or NO_TURN
+     */
+    private void orderTurns(Game game, int[] turns, int count, int ply, int hashTurn) {
+        BitBoard bits = game.getBoard().getBitBoard();
+        long threats = game.getWinningMoveMask(game.getPlayer(1 - game.playerIndex(game.getCurrentPlayer())));
+        int killer = killers[ply];
+        for (int i = 0; i < count; i++) {
+            int turn = turns[i];
+            int priority = bits.getHeight(Turn.moveCell(turn)) << 2;
+            if ((threats & BitBoard.bit(Turn.buildCell(turn))) != 0) {
+                priority += 8;
+            }
+            if (turn == hashTurn) {
+                priority += HASH_PRIORITY;
+            } else if (turn == killer) {
+                priority += KILLER_PRIORITY;
+            }
+            // Insertion sort, highest priority first; generation order breaks ties
+            int j = i;
+            while (j > 0 && priorities[j - 1] < priority) {
+                priorities[j] = priorities[j - 1];
+                turns[j] = turns[j - 1];
+                j--;
+            }
+            priorities[j] = priority;
+            turns[j] = turn;
+        }
+    }
+
+    /**
+     * Scores a position from the side to move's point of view. Higher workers, central workers and more room to
+     * move are good; each level-3 cell the opponent could step onto next turn is bad.
+     *
+     * @param game game to score
+     * @return heuristic score
+     */
+    static int evaluate(Game game) {
+        Board board = game.getBoard();
+        BitBoard bits = board.getBitBoard();
+        MoveTables tables = board.getTables();
+        Player player = game.getCurrentPlayer();
+        int side = game.playerIndex(player);
+        int score = 0;
+        for (int slot = 0; slot < 4; slot++) {
+            BoardPosition position = game.getWorker(slot).getPosition();
+            if (position != null) {
+                int cell = board.cellOf(position);
+                int value = HEIGHT_SCORE[bits.getHeight(cell)] + CENTRE_SCORE * Long.bitCount(tables.neighbourMask(cell));
+                score += slot >> 1 == side ? value : -value;
+            }
+        }
+        score += MOBILITY_SCORE * (board.getMoveCount(side) - board.getMoveCount(1 - side));
+        score -= THREAT_SCORE * Long.bitCount(game.getWinningMoveMask(game.getPlayer(1 - side)));
+        return score;
+    }
+
+    public static void main(String[] args) {
+        List<String> positional = new ArrayList<>();
+        int megabytes = DEFAULT_TABLE_MEGABYTES;
+        int threads = 1;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--hash")) {
+                megabytes = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--threads")) {
+                threads = Integer.parseInt(args[++i]);
+            } else {
+                positional.add(args[i]);
+            }
+        }
+        long budget = positional.size() > 0 ? Long.parseLong(positional.get(0)) : DEFAULT_BUDGET_MILLIS;
+        Game game = Perft.gameAt(Perft.opening(positional.size() > 1 ? positional.get(1) : "None",
+                positional.size() > 2 ? positional.get(2) : "None"));
+        TranspositionTable table = megabytes > 0 ? new TranspositionTable(megabytes) : null;
+        AlphaBeta engine = new AlphaBeta(table);
+        for (int i = 0; i < 20; i++) {
+            engine.search(game, budget, 3); // Warm up the JIT so the first timed depths are comparable
+        }
+        List<String> lines = new ArrayList<>();
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            if (table != null) {
+                table.clear(); // Each depth starts cold so its node count stands alone
+            }
+            Result result = engine.search(game, budget, depth);
+            if (result.getDepth() < depth) {
+                break;
+            }
+            lines.add(String.format("depth %d: %s score %d, %d nodes in %.1f ms, table hits %.1f%%, cutoffs %d",
+                    depth, Turn.toString(result.getTurn()), result.getScore(), result.getNodes(),
+                    result.getNanos() / 1e6, 100.0 * result.getTableHits() / Math.max(1, result.getTableProbes()),
+                    result.getTableCutoffs()));
+            if (threads > 1 && table != null) {
+                table.clear();
+                Result parallel = engine.search(game, budget, depth, threads);
+                if (parallel.getDepth() < depth) {
+                    break;
+                }
+                lines.add(String.format("  %d threads: %s score %d, %d nodes in %.1f ms, speedup %.2fx", threads,
+                        Turn.toString(parallel.getTurn()), parallel.getScore(), parallel.getNodes(),
+                        parallel.getNanos() / 1e6, (double) result.getNanos() / parallel.getNanos()));
+            }
+            if (Math.abs(result.getScore()) >= FORCED) {
+                break;
+            }
+        }
+        lines.forEach(System.out::println);
+    }
+}
@@ -14,7 +14,10 @@ import java.util.Map;
  * @AndrewID luw2
  */
 public class App extends NanoHTTPD {
+    private static final long MAX_AI_BUDGET_MILLIS = 10_000; // Longest a computer turn may hold a request thread
     private Game game;
+    private final TranspositionTable aiTable = new TranspositionTable(AlphaBeta.DEFAULT_TABLE_MEGABYTES);
+    private final Mcts mcts = new Mcts(); // Its tree is allocated once and reused by every search
 
     public App() throws IOException {
         super(8080);
@@ -60,7 +63,7 @@ public class App extends NanoHTTPD {
             int x = Integer.parseInt(xParam);
             int y = Integer.parseInt(yParam);
             Worker worker = this.game.getCurrentWorker();
-            BoardPosition position = new BoardPosition(x, y);
+            BoardPosition position = BoardPosition.of(x, y);
             if (worker != null && this.game.placeWorker(worker, position)) {
                 GameState gameState = new GameState(this.game);
                 return createOkResponse(gameState.toJson());
@@ -70,7 +73,9 @@ public class App extends NanoHTTPD {
         } else if (uri.equals("/selectworker")) {
             String workerId = params.get("workerId");
             String playerId = params.get("playerId");
-            boolean selectionSuccess = this.game.selectWorker(workerId, playerId);
+            int workerIndex = workerIndexOf(workerId);
+            boolean selectionSuccess = workerIndex >= 0 && workerIndex >> 1 == playerIndexOf(playerId)
+                    && this.game.selectWorker(workerIndex);
             if (selectionSuccess) {
                 // Respond with the updated game state including the selected worker
                 GameState gameState = new GameState(this.game);
@@ -79,19 +84,25 @@ public class App extends NanoHTTPD {
                 return createErrorResponse("Failed to select worker.");
             }
         } else if (uri.equals("/move")) {
-            Worker worker = this.game.getCurrentWorker();
-            BoardPosition newPosition = new BoardPosition(Integer.parseInt(params.get("x")), Integer.parseInt(params.get("y")));
-            if (worker != null && this.game.moveWorker(newPosition)) {
-                GameState gameState = new GameState(this.game);
-                return createOkResponse(gameState.toJson());
+            BoardPosition newPosition = BoardPosition.of(Integer.parseInt(params.get("x")), Integer.parseInt(params.get("y")));
+            int action = this.game.prepareMove(newPosition);
+            if (Action.isRejected(action)) {
+                return createErrorResponse("Cannot move to " + newPosition + ": " + messageOf(Action.reason(action)));
             }
+            this.game.executeAction(action);
+            GameState gameState = new GameState(this.game);
+            return createOkResponse(gameState.toJson());
         } else if (uri.equals("/build")) {
-            Worker worker = this.game.getCurrentWorker();
-            BoardPosition buildPosition = new BoardPosition(Integer.parseInt(params.get("x")), Integer.parseInt(params.get("y")));
-            if (worker != null && this.game.buildBlock(buildPosition)) {
-                GameState gameState = new GameState(this.game);
-                return createOkResponse(gameState.toJson());
+            BoardPosition buildPosition = BoardPosition.of(Integer.parseInt(params.get("x")), Integer.parseInt(params.get("y")));
+            int action = this.game.prepareBuild(buildPosition);
+            if (Action.isRejected(action)) {
+                return createErrorResponse("Cannot build at " + buildPosition + ": " + messageOf(Action.reason(action)));
             }
+            this.game.executeAction(action);
+            GameState gameState = new GameState(this.game);
+            return createOkResponse(gameState.toJson());
+        } else if (uri.equals("/aimove")) {
+            return handleAiMove(params);
         } else if (uri.equals("/skipSecondBuild")) {
             Worker worker = game.getCurrentWorker();
             if (worker != null && game.skipGodCardAction()) {
@@ -107,7 +118,13 @@ public class App extends NanoHTTPD {
     private Response handleNewGame(Map<String, String> params) {
         Player playerA = new Player("A");
         Player playerB = new Player("B");
-        this.game = new Game(playerA, playerB);
+        try {
+            int width = params.containsKey("width") ? Integer.parseInt(params.get("width")) : BitBoard.SIZE;
+            int height = params.containsKey("height") ? Integer.parseInt(params.get("height")) : BitBoard.SIZE;
+            this.game = new Game(playerA, playerB, width, height);
+        } catch (IllegalArgumentException e) { // also covers NumberFormatException
+            return createErrorResponse("Invalid board size: " + e.getMessage());
+        }
 
         // Log game start
         System.out.println("New game started with players: A and B.");
@@ -115,6 +132,42 @@ public class App extends NanoHTTPD {
         return createOkResponse(gameState.toJson());
     }
 
+    private Response handleAiMove(Map<String, String> params) {
+        if (this.game == null || this.game.getGamePhase() != Game.GamePhase.MOVE) {
+            return createErrorResponse("The computer can only play at the start of a turn.");
+        }
+        long budget;
+        int threads;
+        try {
+            budget = params.containsKey("millis") ? Long.parseLong(params.get("millis")) : AlphaBeta.DEFAULT_BUDGET_MILLIS;
+            threads = params.containsKey("threads") ? Integer.parseInt(params.get("threads")) : 1;
+        } catch (NumberFormatException e) {
+            return createErrorResponse("Invalid search parameter: " + e.getMessage());
+        }
+        if (budget < 1 || budget > MAX_AI_BUDGET_MILLIS) {
+            return createErrorResponse("The time budget must be between 1 and " + MAX_AI_BUDGET_MILLIS + " ms, got " + budget + ".");
+        }
+        threads = Math.max(1, Math.min(threads, Runtime.getRuntime().availableProcessors()));
+        // Search a fork so the live game is only touched by the chosen turn; the table is shared by every search
+        int turn;
+        String summary;
+        if ("mcts".equals(params.get("engine"))) {
+            Mcts.Result result = mcts.search(this.game.fork(), budget, Long.MAX_VALUE, threads, 1);
+            turn = result.getTurn();
+            summary = result.getPlayouts() + " playouts";
+        } else {
+            AlphaBeta.Result result = new AlphaBeta(aiTable).search(this.game.fork(), budget, AlphaBeta.MAX_DEPTH, threads);
+            turn = result.getTurn();
+            summary = "searching " + result.getDepth() + " turns deep";
+        }
+        if (turn == AlphaBeta.NO_TURN || !this.game.makeTurn(turn)) {
+            return createErrorResponse("The computer has no legal turn.");
+        }
+        System.out.println("Computer played " + Turn.toString(turn, this.game.getBoard().getTables()) + " after " + summary + ".");
+        GameState gameState = new GameState(this.game);
+        return createOkResponse(gameState.toJson());
+    }
+
     private Response handleSelectGodCards(String jsonData) {
         try {
             Gson gson = new Gson(); // Using Gson to parse JSON
@@ -126,10 +179,11 @@ public class App extends NanoHTTPD {
             String godCardName = params.get("godCard");
 
             System.out.println("Selecting god card with playerId: " + playerId + " and godCard: " + godCardName);
-            Player player = game.findPlayerById(playerId);
-            if (player == null) {
+            int playerIndex = playerIndexOf(playerId);
+            if (playerIndex < 0) {
                 return createErrorResponse("Player not found");
             }
+            Player player = game.getPlayer(playerIndex);
 
             // Select the god card for the player
             game.selectGodCard(player, godCardName);
@@ -140,6 +194,43 @@ public class App extends NanoHTTPD {
         }
     }
 
+    // Helper method to translate a request's player ID into the game's player index, or -1 if there is none
+    private int playerIndexOf(String playerId) {
+        for (int index = 0; index < game.getPlayers().size(); index++) {
+            if (game.getPlayer(index).getPlayerID().equals(playerId)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // Helper method to translate a request's worker ID into the game's worker index, or -1 if there is none
+    private int workerIndexOf(String workerId) {
+        for (int index = 0; index < 2 * game.getPlayers().size(); index++) {
+            if (game.getWorker(index).getWorkerID().equals(workerId)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // Helper method to turn a rule result from the game into a message for the player
+    private static String messageOf(RuleResult reason) {
+        return switch (reason) {
+            case OK -> "no problem";
+            case GAME_OVER -> "the game is over";
+            case NO_WORKER_SELECTED -> "no worker has been selected";
+            case NOT_YOUR_TURN -> "it is not your turn";
+            case WRONG_PHASE -> "that action is not allowed in this phase";
+            case OFF_BOARD -> "the square is off the board";
+            case NOT_ADJACENT -> "the square is not next to your worker";
+            case DOMED -> "the square has a dome";
+            case OCCUPIED -> "the square is occupied";
+            case TOO_HIGH -> "the square is more than one level up";
+            case GOD_CARD_RULE -> "your god card does not allow it";
+        };
+    }
+
     // Helper method to create a successful JSON response
     private Response createOkResponse(String json) {
         Response response = newFixedLengthResponse(Response.Status.OK, "application/json", json);
@@ -0,0 +1,415 @@
+package org.example;
+
+/**
+ * Packs the cells of the Santorini board into long masks, for any board size of up to 64 cells.
+ * Cell (x, y) maps to bit {@code y * width + x}, numbered by the board's {@link MoveTables}.
+ * The board keeps one plane for occupancy, one for domes and
+ * three cumulative level planes, so plane N holds every cell whose tower has at least N levels.
+ * Legality checks become a handful of mask operations instead of walking Square and Tower objects.
+ * The static coordinate helpers describe the standard 5x5 board.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class BitBoard {
+    public static final int SIZE = 5;
+    public static final int CELLS = SIZE * SIZE;
+    public static final long ALL_CELLS = (1L << CELLS) - 1;
+    private static final int MAX_LEVELS = 3;
+
+    private final MoveTables tables;
+    private long occupied;
+    private long domes;
+    private long level1;
+    private long level2;
+    private long level3;
+    private long zobristKey; // XOR of the Zobrist keys of every level and dome on the board
+    private long changedCells; // Cells whose tower or occupancy changed since the last takeChangedCells()
+
+    /**
+     * Creates an empty standard 5x5 board.
+     */
+    public BitBoard() {
+        this(MoveTables.STANDARD);
+    }
+
+    /**
+     * Creates an empty board of the size described by a set of move tables.
+     *
+     * @param tables cell numbering and adjacency of the board
+     */
+    public BitBoard(MoveTables tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * Creates a copy of a board: its planes, Zobrist key and pending change set.
+     *
+     * @param source The board to copy.
+     */
+    public BitBoard(BitBoard source) {
+        this.tables = source.tables;
+        this.occupied = source.occupied;
+        this.domes = source.domes;
+        this.level1 = source.level1;
+        this.level2 = source.level2;
+        this.level3 = source.level3;
+        this.zobristKey = source.zobristKey;
+        this.changedCells = source.changedCells;
+    }
+
+    /**
+     * Converts coordinates on the standard board to a cell index.
+     *
+     * @param x The x coordinate (column).
+     * @param y The y coordinate (row).
+     * @return The index of the cell, from 0 to 24.
+     */
+    public static int indexOf(int x, int y) {
+        return y * SIZE + x;
+    }
+
+    /**
+     * Returns the x coordinate (column) of a cell index.
+     *
+     * @param index The cell index.
+     * @return The x coordinate.
+     */
+    public static int xOf(int index) {
+        return index % SIZE;
+    }
+
+    /**
+     * Returns the y coordinate (row) of a cell index.
+     *
+     * @param index The cell index.
+     * @return The y coordinate.
+     */
+    public static int yOf(int index) {
+        return index / SIZE;
+    }
+
+    /**
+     * Returns the single-bit mask for a cell.
+     *
+     * @param index The cell index.
+     * @return A mask with only the bit of that cell set.
+     */
+    public static long bit(int index) {
+        return 1L << index;
+    }
+
+    /**
+     * Returns the mask of cells adjacent to a cell of the standard board, including diagonals.
+     *
+     * @param index The cell index.
+     * @return The neighbour mask of that cell.
+     */
+    public static long neighbours(int index) {
+        return MoveTables.STANDARD.neighbourMask(index);
+    }
+
+    /**
+     * Writes the cell indices of a mask into a buffer, in ascending order.
+     *
+     * @param mask   The cell mask.
+     * @param buffer Buffer receiving the indices; must hold at least {@code Long.bitCount(mask)} entries.
+     * @return The number of cells written.
+     */
+    public static int toCells(long mask, int[] buffer) {
+        int count = 0;
+        while (mask != 0) {
+            buffer[count++] = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the number of levels built at a cell.
+     *
+     * @param index The cell index.
+     * @return The tower height, from 0 to 3.
+     */
+    public int getHeight(int index) {
+        return (int) (((level1 >>> index) & 1) + ((level2 >>> index) & 1) + ((level3 >>> index) & 1));
+    }
+
+    /**
+     * Checks whether a cell is topped with a dome.
+     *
+     * @param index The cell index.
+     * @return true if the cell has a dome.
+     */
+    public boolean hasDome(int index) {
+        return (domes & bit(index)) != 0;
+    }
+
+    /**
+     * Checks whether a worker stands on a cell.
+     *
+     * @param index The cell index.
+     * @return true if the cell is occupied.
+     */
+    public boolean isOccupied(int index) {
+        return (occupied & bit(index)) != 0;
+    }
+
+    /**
+     * Marks a cell as occupied or free.
+     *
+     * @param index    The cell index.
+     * @param occupied true to mark the cell occupied, false to free it.
+     */
+    public void setOccupied(int index, boolean occupied) {
+        changedCells |= bit(index);
+        if (occupied) {
+            this.occupied |= bit(index);
+        } else {
+            this.occupied &= ~bit(index);
+        }
+    }
+
+    /**
+     * Adds one level to the tower at a cell.
+     *
+     * @param index The cell index.
+     * @return true if a level was added, false if the tower already has three levels or a dome.
+     */
+    public boolean buildLevel(int index) {
+        long mask = bit(index);
+        if ((domes & mask) != 0 || (level3 & mask) != 0) {
+            return false;
+        }
+        changedCells |= mask;
+        if ((level1 & mask) == 0) {
+            level1 |= mask;
+            zobristKey ^= Zobrist.level(index, 1);
+        } else if ((level2 & mask) == 0) {
+            level2 |= mask;
+            zobristKey ^= Zobrist.level(index, 2);
+        } else {
+            level3 |= mask;
+            zobristKey ^= Zobrist.level(index, 3);
+        }
+        return true;
+    }
+
+    /**
+     * Places a dome on a complete three-level tower.
+     *
+     * @param index The cell index.
+     * @return true if the dome was placed, false if the tower is too low or already domed.
+     */
+    public boolean placeDome(int index) {
+        long mask = bit(index);
+        if ((domes & mask) != 0 || (level3 & mask) == 0) {
+            return false;
+        }
+        domes |= mask;
+        changedCells |= mask;
+        zobristKey ^= Zobrist.dome(index);
+        return true;
+    }
+
+    /**
+     * Removes the top piece at a cell: the dome if there is one, otherwise the highest level.
+     * Used to take back a build.
+     *
+     * @param index The cell index.
+     * @return true if a piece was removed, false if the cell was empty.
+     */
+    public boolean removeTopPiece(int index) {
+        long mask = bit(index);
+        if ((domes & mask) != 0) {
+            domes &= ~mask;
+            zobristKey ^= Zobrist.dome(index);
+        } else if ((level3 & mask) != 0) {
+            level3 &= ~mask;
+            zobristKey ^= Zobrist.level(index, 3);
+        } else if ((level2 & mask) != 0) {
+            level2 &= ~mask;
+            zobristKey ^= Zobrist.level(index, 2);
+        } else if ((level1 & mask) != 0) {
+            level1 &= ~mask;
+            zobristKey ^= Zobrist.level(index, 1);
+        } else {
+            return false;
+        }
+        changedCells |= mask;
+        return true;
+    }
+
+    /**
+     * Returns the cells whose tower or occupancy changed since the previous call, and starts a new change set.
+     * Lets the board refresh cached per-worker counts for the workers next to a change only.
+     *
+     * @return mask of changed cells
+     */
+    long takeChangedCells() {
+        long changed = changedCells;
+        changedCells = 0;
+        return changed;
+    }
+
+    /**
+     * Replaces the tower at a cell. Used to restore a saved position.
+     *
+     * @param index  The cell index.
+     * @param height The tower height, from 0 to 3.
+     * @param dome   true if the tower carries a dome; only valid on a three-level tower.
+     */
+    public void setTower(int index, int height, boolean dome) {
+        while (removeTopPiece(index)) {
+            // strip the cell down to the ground, keeping the Zobrist key in step
+        }
+        for (int level = 0; level < height; level++) {
+            buildLevel(index);
+        }
+        if (dome) {
+            placeDome(index);
+        }
+    }
+
+    /**
+     * Returns the cells a worker standing at the given height may climb onto, ignoring adjacency.
+     *
+     * @param height The height of the worker's current cell.
+     * @return A mask of cells that are at most one level higher.
+     */
+    public long climbableFrom(int height) {
+        long all = tables.allCells();
+        if (height >= MAX_LEVELS - 1) {
+            return all;
+        }
+        return height == 1 ? all & ~level3 : all & ~level2;
+    }
+
+    /**
+     * Returns the adjacent, undomed cells that are reachable by height from a cell, whether or not occupied.
+     *
+     * @param from The cell index of the worker.
+     * @return A mask of cells the worker could step onto if they were free.
+     */
+    public long climbTargets(int from) {
+        return tables.neighbourMask(from) & ~domes & climbableFrom(getHeight(from));
+    }
+
+    /**
+     * Returns the cells a worker at a cell can legally move to under the standard rules.
+     *
+     * @param from The cell index of the worker.
+     * @return A mask of legal move targets.
+     */
+    public long moveTargets(int from) {
+        return climbTargets(from) & ~occupied;
+    }
+
+    /**
+     * Returns the adjacent, undomed cells next to a cell, whether or not occupied.
+     *
+     * @param from The cell index of the worker.
+     * @return A mask of cells that can take another block or a dome.
+     */
+    public long buildableNeighbours(int from) {
+        return tables.neighbourMask(from) & ~domes;
+    }
+
+    /**
+     * Returns the cells a worker at a cell can legally build on under the standard rules.
+     *
+     * @param from The cell index of the worker.
+     * @return A mask of legal build targets.
+     */
+    public long buildTargets(int from) {
+        return buildableNeighbours(from) & ~occupied;
+    }
+
+    /**
+     * Checks if a standard move between two cells is legal.
+     *
+     * @param from The starting cell index.
+     * @param to   The target cell index.
+     * @return true if the move is legal.
+     */
+    public boolean isMoveLegal(int from, int to) {
+        return (moveTargets(from) & bit(to)) != 0;
+    }
+
+    /**
+     * Checks if a standard build from one cell onto another is legal.
+     *
+     * @param from The cell index of the building worker.
+     * @param to   The target cell index.
+     * @return true if the build is legal.
+     */
+    public boolean isBuildLegal(int from, int to) {
+        return (buildTargets(from) & bit(to)) != 0;
+    }
+
+    /**
+     * Checks whether a move goes from the second level straight onto the third level.
+     *
+     * @param from The starting cell index.
+     * @param to   The target cell index.
+     * @return true if the move climbs from level two to level three.
+     */
+    public boolean isClimbToThirdLevel(int from, int to) {
+        return (level2 & ~level3 & bit(from)) != 0 && (level3 & bit(to)) != 0;
+    }
+
+    /**
+     * Getter for the occupancy plane
+     *
+     * @return mask of occupied cells
+     */
+    public long getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * Getter for the dome plane
+     *
+     * @return mask of domed cells
+     */
+    public long getDomes() {
+        return domes;
+    }
+
+    /**
+     * Getter for a cumulative level plane
+     *
+     * @param level level from 1 to 3
+     * @return mask of cells with at least that many levels
+     */
+    public long getLevelPlane(int level) {
+        switch (level) {
+            case 1:
+                return level1;
+            case 2:
+                return level2;
+            case 3:
+                return level3;
+            default:
+                throw new IllegalArgumentException("Level plane must be between 1 and " + MAX_LEVELS + ": " + level);
+        }
+    }
+
+    /**
+     * Getter for the cell numbering and adjacency of this board
+     *
+     * @return move tables of the board size
+     */
+    public MoveTables getTables() {
+        return tables;
+    }
+
+    /**
+     * Getter for the Zobrist key of the towers and domes on the board, kept up to date on every build
+     *
+     * @return Zobrist key of the buildings
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+}
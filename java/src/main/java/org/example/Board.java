@@ -1,31 +1,93 @@
 package org.example;
 
-import org.example.Exceptions.IllegalBuildException;
-import org.example.Exceptions.IllegalMoveException;
-
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.List;
 
 /**
- * Represents the game board for Santorini, consisting of a 5x5 grid of squares.
- * Each square can hold a tower and may be occupied by a worker.
+ * Represents the game board for Santorini, a grid of squares that is 5x5 by default and may have any size
+ * of up to 64 cells. Each square can hold a tower and may be occupied by a worker.
+ * Tower levels, domes and occupancy live in a {@link BitBoard}; the squares are views over its cells,
+ * so legality checks run as mask operations. Workers live in a small slot table: each slot holds a worker and
+ * its cell, and the occupancy plane marks the cells in use. Worker and Square positions are read from it.
+ * The slot table also caches each worker's move and build counts. A build or worker move only refreshes the
+ * workers next to the cells it changed, so asking whether a side is blocked costs a few mask tests.
  *
  * @author Lu Wang
  * @AndrewID luw2
  */
 public class Board {
-    private static final int BOARD_SIZE = 5;
     private static final int MAX_LEVELS = 3;
-    private final Square[][] squares = new Square[BOARD_SIZE][BOARD_SIZE];
-    private final Map<Worker, BoardPosition> workerPositions = new HashMap<>();
+    private final MoveTables tables;
+    private final BitBoard bits;
+    public static final int MAX_WORKERS = 4;
+    private static final int NO_CELL = -1;
+    private final Worker[] slotWorkers = new Worker[MAX_WORKERS];
+    private final int[] slotCells = new int[MAX_WORKERS];
+    private final int[] slotMoves = new int[MAX_WORKERS]; // Standard-rule move count of each slot's worker
+    private final int[] slotBuilds = new int[MAX_WORKERS]; // Standard-rule build count of each slot's worker
+    private final long[] slotClimbWins = new long[MAX_WORKERS]; // Level-3 cells each slot's worker can step up to
+    private final long[] slotDropWins = new long[MAX_WORKERS]; // Cells each slot's worker can drop two levels to
+    private final Player firstPlayer; // Owner of the workers hashed as side 0
+    private long workerKey; // XOR of the Zobrist keys of every worker on the board
 
     /**
-     * Constructs a new Board, initializing each square within the 5x5 grid.
+     * Constructs a new empty 5x5 Board.
      */
     public Board() {
-        for (int i = 0; i < BOARD_SIZE; ++i) {
-            for (int j = 0; j < BOARD_SIZE; ++j) {
-                squares[i][j] = new Square();
+        this(null);
+    }
+
+    /**
+     * Constructs a new 5x5 Board whose Zobrist key tells the first player's workers apart from the second player's.
+     *
+     * @param firstPlayer The player who moves first.
+     */
+    public Board(Player firstPlayer) {
+        this(firstPlayer, BitBoard.SIZE, BitBoard.SIZE);
+    }
+
+    /**
+     * Constructs a new Board of a given size.
+     *
+     * @param firstPlayer The player who moves first.
+     * @param width       The number of columns.
+     * @param height      The number of rows.
+     * @throws IllegalArgumentException if a side is shorter than 2 or the board has more than 64 cells.
+     */
+    public Board(Player firstPlayer, int width, int height) {
+        this.firstPlayer = firstPlayer;
+        this.tables = MoveTables.of(width, height);
+        this.bits = new BitBoard(tables);
+        Arrays.fill(slotCells, NO_CELL);
+    }
+
+    /**
+     * Constructs a copy of a board for a forked game: same towers, domes, worker cells and cached counts,
+     * with each worker replaced by the fork's worker of the same index.
+     * Workers that do not belong to a game (no index) are left off the copy.
+     *
+     * @param source      The board to copy.
+     * @param firstPlayer The first player of the fork.
+     * @param workers     The fork's workers, by worker index.
+     */
+    Board(Board source, Player firstPlayer, Worker[] workers) {
+        this.firstPlayer = firstPlayer;
+        this.tables = source.tables;
+        this.bits = new BitBoard(source.bits);
+        this.workerKey = source.workerKey;
+        System.arraycopy(source.slotCells, 0, slotCells, 0, MAX_WORKERS);
+        System.arraycopy(source.slotMoves, 0, slotMoves, 0, MAX_WORKERS);
+        System.arraycopy(source.slotBuilds, 0, slotBuilds, 0, MAX_WORKERS);
+        System.arraycopy(source.slotClimbWins, 0, slotClimbWins, 0, MAX_WORKERS);
+        System.arraycopy(source.slotDropWins, 0, slotDropWins, 0, MAX_WORKERS);
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            Worker worker = source.slotWorkers[slot];
+            if (worker != null && worker.getIndex() >= 0) {
+                slotWorkers[slot] = workers[worker.getIndex()];
+                workers[worker.getIndex()].attach(this, slot);
+            } else if (slotCells[slot] != NO_CELL) {
+                workerKey ^= Zobrist.worker(source.sideOf(worker), slotCells[slot]);
+                vacate(slot);
             }
         }
     }
@@ -39,15 +101,15 @@ public class Board {
      */
     public boolean placeWorkerAt(Worker worker, BoardPosition position) {
         if (getSquare(position).getIsOccupied()) {
-            logAction("Cannot place worker at: " + position + " . It is occupied.");
+            GameLog.debug("Cannot place worker at: {} . It is occupied.", position);
             return false;
         }
         if (isOutOfBounds(position)) {
-            logAction("Cannot place worker at: " + position + " . It is out of bounds");
+            GameLog.debug("Cannot place worker at: {} . It is out of bounds", position);
             return false;
         }
         updateWorkerPosition(worker, position);
-        logAction(worker.getWorkerID() + " is placed at " + position);
+        GameLog.debug("{} is placed at {}", worker.getWorkerID(), position);
         return true;
     }
 
@@ -56,15 +118,14 @@ public class Board {
      *
      * @param worker      The worker to move.
      * @param newPosition The new position for the worker.
-     * @return true if the move was made successfully.
-     * @throws Exception if the move is not legal.
+     * @return {@link RuleResult#OK} if the move was made, otherwise the rule it breaks.
      */
-    public boolean moveWorkerTo(Worker worker, BoardPosition newPosition) throws IllegalMoveException {
-        if (!isMoveLegal(worker, worker.getPosition(), newPosition)) {
-            throw new IllegalMoveException("Move from " + worker.getPosition() + " to " + newPosition + " is not legal.");
+    public RuleResult moveWorkerTo(Worker worker, BoardPosition newPosition) {
+        RuleResult result = checkMove(worker.getPosition(), newPosition);
+        if (result == RuleResult.OK) {
+            executeMoveAction(worker, newPosition);
         }
-        executeMoveAction(worker, newPosition);
-        return true;
+        return result;
     }
 
     /**
@@ -75,7 +136,7 @@ public class Board {
      */
     private void executeMoveAction(Worker worker, BoardPosition newPosition) {
         updateWorkerPosition(worker, newPosition);
-        logAction("Successful move. " + worker.getWorkerID() + " moved to " + newPosition + ".");
+        GameLog.debug("Successful move. {} moved to {}.", worker.getWorkerID(), newPosition);
     }
 
     /**
@@ -83,14 +144,14 @@ public class Board {
      *
      * @param worker        The worker performing the build action.
      * @param buildPosition The position where the build action is to be performed.
-     * @return true if the build action was successful.
-     * @throws Exception if the build action is not legal.
+     * @return {@link RuleResult#OK} if the build was made, otherwise the rule it breaks.
      */
-    public boolean buildAt(Worker worker, BoardPosition buildPosition) throws IllegalBuildException {
-        if (!isBuildLegal(worker, worker.getPosition(), buildPosition)) {
-            throw new IllegalBuildException("Build at " + buildPosition + " is not legal.");
+    public RuleResult buildAt(Worker worker, BoardPosition buildPosition) {
+        RuleResult result = checkBuild(worker.getPosition(), buildPosition);
+        if (result == RuleResult.OK) {
+            executeBuildAction(worker, buildPosition);
         }
-        return executeBuildAction(worker, buildPosition);
+        return result;
     }
 
     /**
@@ -106,52 +167,292 @@ public class Board {
         boolean hasDome = targetSquare.hasDome();
         if (levels < MAX_LEVELS) {
             targetSquare.buildBlock();
-            logAction("Successful build. A block has been built at " + buildPosition + " by " + worker.getWorkerID() + ".");
+            GameLog.debug("Successful build. A block has been built at {} by {}.", buildPosition, worker.getWorkerID());
             return true;
         } else if (levels == MAX_LEVELS && !hasDome) {
             targetSquare.placeDome();
-            logAction("A dome has been placed at " + buildPosition);
+            GameLog.debug("A dome has been placed at {}", buildPosition);
             return true;
         }
-        logAction("No build action executed: either the tower is complete or not eligible for a dome.");
+        GameLog.debug("No build action executed: either the tower is complete or not eligible for a dome.");
         return false;
     }
 
     /**
-     * Push the opponent worker to its behind position
+     * Moves a worker to a cell without checking the rules; the move must already have been validated.
+     * An opponent standing on the cell is first recorded and then moved to {@code displacedCell},
+     * which covers both Apollo's swap and Minotaur's push.
+     *
+     * @param worker        The worker to move.
+     * @param cell          The cell it moves to.
+     * @param displacedCell The cell the opponent on {@code cell} ends on, or {@link MoveTables#NONE}.
+     */
+    public void applyMove(Worker worker, int cell, int displacedCell) {
+        Worker opponent = displacedCell == MoveTables.NONE ? null : getWorkerAt(cell);
+        // Both workers share the cell for a moment; vacate keeps it occupied until the opponent leaves.
+        updateWorkerPosition(worker, tables.positionOf(cell));
+        if (opponent != null) {
+            updateWorkerPosition(opponent, tables.positionOf(displacedCell));
+        }
+    }
+
+    /**
+     * Adds a block or a dome to a cell without checking the rules; the build must already have been validated.
      *
-     * @param opponentWorker worker that is going to be pushed
-     * @param pushTo         target position for push
-     * @return true if push succeeds
+     * @param cell The cell to build on.
+     * @param dome true to place a dome, false to add a level.
      */
-    public boolean pushOpponentWorker(Worker opponentWorker, BoardPosition pushTo) {
-        // Validate the push position
-        if (isOutOfBounds(pushTo) || getSquare(pushTo).hasDome() || getSquare(pushTo).getIsOccupied()) {
-            return false; // Push position is invalid
+    public void applyBuild(int cell, boolean dome) {
+        if (dome) {
+            bits.placeDome(cell);
+        } else {
+            bits.buildLevel(cell);
         }
-        // Push the opponent worker
-        updateWorkerPosition(opponentWorker, pushTo);
-        return true; // Push was successful
     }
 
     /**
      * Updates the board and worker position mappings when a worker moves or is placed.
+     * A worker that is not on this board yet gets a free slot; otherwise its slot cell is rewritten.
      *
      * @param worker      The worker whose position is being updated.
      * @param newPosition The worker's new position.
      */
     public void updateWorkerPosition(Worker worker, BoardPosition newPosition) {
-        // Remove the worker from their old position
-        BoardPosition oldPosition = workerPositions.get(worker);
-        if (oldPosition != null) {
-            getSquare(oldPosition).setOccupiedWorker(null);
+        int newCell = indexOf(newPosition);
+        if (newCell < 0) {
+            throw new ArrayIndexOutOfBoundsException("Position " + newPosition + " is off the board.");
+        }
+        int slot = worker.getBoard() == this ? worker.getSlot() : attach(worker);
+        int oldCell = slotCells[slot];
+        if (oldCell != NO_CELL) {
+            vacate(slot);
+            workerKey ^= Zobrist.worker(sideOf(worker), oldCell);
+        }
+        slotCells[slot] = newCell;
+        bits.setOccupied(newCell, true);
+        workerKey ^= Zobrist.worker(sideOf(worker), newCell);
+        GameLog.debug("Worker {}'s position is updated from {} to {}", worker.getWorkerID(),
+                oldCell == NO_CELL ? null : tables.positionOf(oldCell), newPosition);
+    }
+
+    /**
+     * Takes a worker off the board, clearing its square and its position.
+     *
+     * @param worker The worker to remove.
+     */
+    public void removeWorker(Worker worker) {
+        if (worker.getBoard() != this) {
+            worker.setPosition(null);
+            return;
+        }
+        int slot = worker.getSlot();
+        if (slotCells[slot] != NO_CELL) {
+            workerKey ^= Zobrist.worker(sideOf(worker), slotCells[slot]);
+            vacate(slot);
+        }
+        slotWorkers[slot] = null;
+        worker.detach();
+    }
+
+    /**
+     * Takes whichever worker stands on a cell off the board.
+     *
+     * @param cell The cell index.
+     */
+    void removeWorkerAt(int cell) {
+        Worker worker = getWorkerAt(cell);
+        if (worker != null) {
+            removeWorker(worker);
+        }
+    }
+
+    /**
+     * Returns the worker standing on a cell.
+     *
+     * @param cell The cell index.
+     * @return The worker, or null if the cell is free.
+     */
+    public Worker getWorkerAt(int cell) {
+        if (!bits.isOccupied(cell)) {
+            return null;
+        }
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            if (slotCells[slot] == cell) {
+                return slotWorkers[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the position held by a worker slot.
+     *
+     * @param slot The worker slot.
+     * @return The position, or null if the slot's worker is not on a cell.
+     */
+    BoardPosition getSlotPosition(int slot) {
+        int cell = slotCells[slot];
+        return cell == NO_CELL ? null : tables.positionOf(cell);
+    }
+
+    /**
+     * Helper method to give a worker a free slot on this board, taking it off any other board first
+     *
+     * @param worker worker to attach
+     * @return slot assigned to the worker
+     */
+    private int attach(Worker worker) {
+        if (worker.getBoard() != null) {
+            worker.getBoard().removeWorker(worker);
+        }
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            if (slotWorkers[slot] == null) {
+                slotWorkers[slot] = worker;
+                slotCells[slot] = NO_CELL;
+                worker.attach(this, slot);
+                return slot;
+            }
+        }
+        throw new IllegalStateException("A board holds at most " + MAX_WORKERS + " workers.");
+    }
+
+    /**
+     * Helper method to clear a slot's cell, keeping the occupancy bit while another slot still shares the cell
+     *
+     * @param slot slot to vacate
+     */
+    private void vacate(int slot) {
+        int cell = slotCells[slot];
+        slotCells[slot] = NO_CELL;
+        for (int other = 0; other < MAX_WORKERS; other++) {
+            if (slotCells[other] == cell) {
+                return;
+            }
+        }
+        bits.setOccupied(cell, false);
+    }
+
+    /**
+     * Counts the standard-rule moves of a side's workers on the board, ignoring god card powers.
+     *
+     * @param side 0 for the first player's workers, 1 for the second's
+     * @return total number of move targets
+     */
+    public int getMoveCount(int side) {
+        refreshSlotCaches();
+        int moves = 0;
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            if (slotWorkers[slot] != null && sideOf(slotWorkers[slot]) == side) {
+                moves += slotMoves[slot];
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Counts the standard-rule builds of a side's workers on the board, ignoring god card powers.
+     *
+     * @param side 0 for the first player's workers, 1 for the second's
+     * @return total number of build targets
+     */
+    public int getBuildCount(int side) {
+        refreshSlotCaches();
+        int builds = 0;
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            if (slotWorkers[slot] != null && sideOf(slotWorkers[slot]) == side) {
+                builds += slotBuilds[slot];
+            }
+        }
+        return builds;
+    }
+
+    /**
+     * Counts a side's workers standing on the board.
+     *
+     * @param side 0 for the first player's workers, 1 for the second's
+     * @return number of placed workers
+     */
+    public int getWorkerCount(int side) {
+        int count = 0;
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            if (slotCells[slot] != NO_CELL && sideOf(slotWorkers[slot]) == side) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the cells a side's workers can win on next move by climbing from level 2 to an unoccupied level 3,
+     * the standard win condition. The index is kept up to date by every placement, move and build.
+     *
+     * @param side 0 for the first player's workers, 1 for the second's
+     * @return mask of winning move targets
+     */
+    public long getWinningClimbs(int side) {
+        refreshSlotCaches();
+        long wins = 0;
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            if (slotWorkers[slot] != null && sideOf(slotWorkers[slot]) == side) {
+                wins |= slotClimbWins[slot];
+            }
+        }
+        return wins;
+    }
+
+    /**
+     * Returns the cells a side's workers can reach next move by moving down two or more levels,
+     * which wins for a player holding Pan.
+     *
+     * @param side 0 for the first player's workers, 1 for the second's
+     * @return mask of move targets at least two levels below the moving worker
+     */
+    public long getWinningDrops(int side) {
+        refreshSlotCaches();
+        long wins = 0;
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            if (slotWorkers[slot] != null && sideOf(slotWorkers[slot]) == side) {
+                wins |= slotDropWins[slot];
+            }
+        }
+        return wins;
+    }
+
+    /**
+     * Helper method to recount the moves, builds and winning moves of the workers standing on or next to a cell
+     * changed since the last refresh
+     */
+    private void refreshSlotCaches() {
+        long changed = bits.takeChangedCells();
+        if (changed == 0) {
+            return;
         }
-        // Update the map with the new position
-        workerPositions.put(worker, newPosition);
-        getSquare(newPosition).setOccupiedWorker(worker);
-        // Update the worker's position (assuming Worker class has setPosition method)
-        worker.setPosition(newPosition);
-        logAction("Worker " + worker.getWorkerID() + "'s position is updated from " + oldPosition + " to " + newPosition);
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            int cell = slotCells[slot];
+            if (cell == NO_CELL) {
+                slotMoves[slot] = 0;
+                slotBuilds[slot] = 0;
+                slotClimbWins[slot] = 0;
+                slotDropWins[slot] = 0;
+            } else if (((tables.neighbourMask(cell) | BitBoard.bit(cell)) & changed) != 0) {
+                long moves = bits.moveTargets(cell);
+                int height = bits.getHeight(cell);
+                slotMoves[slot] = Long.bitCount(moves);
+                slotBuilds[slot] = Long.bitCount(bits.buildTargets(cell));
+                slotClimbWins[slot] = height == 2 ? moves & bits.getLevelPlane(3) : 0;
+                slotDropWins[slot] = height >= 2 ? moves & ~bits.getLevelPlane(height - 1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Takes back the last build at a position, removing its dome or its top level.
+     *
+     * @param buildPosition The position of the build to take back.
+     * @return true if a piece was removed, false if the square was empty.
+     */
+    public boolean unbuildAt(BoardPosition buildPosition) {
+        return bits.removeTopPiece(indexOf(buildPosition));
     }
 
     /**
@@ -161,19 +462,12 @@ public class Board {
      * @return true if the currentPlayer has a worker on the third level, false otherwise.
      */
     public boolean hasWorkerClimbToThirdLevelByItsOwn(Worker currentWorker, BoardPosition from, BoardPosition to) {
-        // First, get the building levels at the from and to positions
-        int fromLevel = getSquare(from).getBuildingLevel();
-        int toLevel = getSquare(to).getBuildingLevel();
         // Check if the worker moved up directly from the second to the third level
-        if (fromLevel == (MAX_LEVELS - 1) && toLevel == MAX_LEVELS) {
-            return true;
-        }
-        return false;
+        return bits.isClimbToThirdLevel(indexOf(from), indexOf(to));
     }
 
     /**
      * Checks if moving a worker from one position to another is legal according to game rules.
-     * This method checks the god card rules as well as the standard move legality.
      *
      * @param worker The worker moving.
      * @param from   The starting position of the move.
@@ -181,15 +475,11 @@ public class Board {
      * @return true if the move is legal, false otherwise.
      */
     public boolean isMoveLegal(Worker worker, BoardPosition from, BoardPosition to) {
-        logAction("isMoveLegal check:");
-        logAction("  isOutOfBounds: " + isOutOfBounds(to));
-        logAction("  isTargetOccupied: " + isTargetOccupied(to));
-        logAction("  isMoveTargetAdjacentAndLegal: " + isMoveTargetAdjacentAndLegal(from, to));
-        return !isOutOfBounds(to) && !isTargetOccupied(to) && isMoveTargetAdjacentAndLegal(from, to);
+        return checkMove(from, to) == RuleResult.OK;
     }
 
     /**
-     * Checks if building at a specified position is legal according to game rules and potential god card effects.
+     * Checks if building at a specified position is legal according to game rules.
      *
      * @param worker The worker attempting to build.
      * @param from   The position of the worker attempting the build.
@@ -197,45 +487,61 @@ public class Board {
      * @return true if the build action is legal, false otherwise.
      */
     public boolean isBuildLegal(Worker worker, BoardPosition from, BoardPosition to) {
-        boolean outOfBounds = isOutOfBounds(to);
-        boolean targetOccupied = isTargetOccupied(to);
-        boolean buildTargetLegal = isBuildTargetAdjacentAndLegal(from, to);
-
-        return !outOfBounds && !targetOccupied && buildTargetLegal;
+        return checkBuild(from, to) == RuleResult.OK;
     }
 
     /**
-     * Determines if a move from one position to another is adjacent and legal according to game rules.
-     * A move is considered legal if the target square is adjacent, not occupied by a dome, and not more than one level higher than the current square.
+     * Checks a standard move, ignoring god card powers, and names the first rule it breaks.
+     * A legal move costs one mask test; the reason is only worked out for a refused one.
      *
-     * @param from The current position of the worker.
-     * @param to   The target position to move the worker to.
-     * @return true if the move is legal, false otherwise.
+     * @param from The starting position of the move.
+     * @param to   The target position of the move.
+     * @return {@link RuleResult#OK}, or why the move is not legal.
      */
-    private boolean isMoveTargetAdjacentAndLegal(BoardPosition from, BoardPosition to) {
-        Square currentSquare = getSquare(from);
-        Square targetSquare = getSquare(to);
-        return from.isAdjacentTo(to) && // Target position is not adjacent
-                !targetSquare.hasDome() && // Target square has a dome
-                targetSquare.getBuildingLevel() <= currentSquare.getBuildingLevel() + 1; // Target square is more than one level higher
+    public RuleResult checkMove(BoardPosition from, BoardPosition to) {
+        int target = indexOf(to);
+        if (target == MoveTables.NONE) {
+            return RuleResult.OFF_BOARD;
+        }
+        int origin = indexOf(from);
+        if (bits.isMoveLegal(origin, target)) {
+            return RuleResult.OK;
+        }
+        RuleResult result = checkTarget(origin, target);
+        return result == RuleResult.OK ? RuleResult.TOO_HIGH : result;
     }
 
     /**
-     * Checks if a build action at a specified position is adjacent and legal from the worker's current position.
-     * Building is considered legal if the target square is adjacent, does not have a dome, and is not already at the maximum height.
+     * Checks a standard build, ignoring god card powers, and names the first rule it breaks.
      *
-     * @param from The current position of the worker attempting to build.
-     * @param to   The target position for the build action.
-     * @return true if the build action is legal, false otherwise.
+     * @param from The position of the building worker.
+     * @param to   The target position for the build.
+     * @return {@link RuleResult#OK}, or why the build is not legal.
      */
-    private boolean isBuildTargetAdjacentAndLegal(BoardPosition from, BoardPosition to) {
-        Square targetSquare = getSquare(to);
-        boolean isAdjacent = from.isAdjacentTo(to);
-        boolean hasNoDome = !targetSquare.hasDome();
-        boolean canBuildBlock = targetSquare.getBuildingLevel() < MAX_LEVELS;
-        boolean canPlaceDome = targetSquare.getBuildingLevel() == MAX_LEVELS;
+    public RuleResult checkBuild(BoardPosition from, BoardPosition to) {
+        int target = indexOf(to);
+        if (target == MoveTables.NONE) {
+            return RuleResult.OFF_BOARD;
+        }
+        int origin = indexOf(from);
+        return bits.isBuildLegal(origin, target) ? RuleResult.OK : checkTarget(origin, target);
+    }
 
-        return isAdjacent && hasNoDome && (canBuildBlock || canPlaceDome);
+    /**
+     * Helper method to find why a target cell is closed to a worker: not next to it, domed or occupied
+     *
+     * @param origin cell of the worker
+     * @param target target cell on the board
+     * @return the broken rule, or OK if the target is open
+     */
+    private RuleResult checkTarget(int origin, int target) {
+        if ((tables.neighbourMask(origin) & BitBoard.bit(target)) == 0) {
+            return RuleResult.NOT_ADJACENT;
+        }
+        if (bits.hasDome(target)) {
+            return RuleResult.DOMED;
+        }
+        return bits.isOccupied(target) ? RuleResult.OCCUPIED : RuleResult.OK;
     }
 
     /**
@@ -245,35 +551,144 @@ public class Board {
      * @return true if the position is out of bounds, false otherwise.
      */
     public boolean isOutOfBounds(BoardPosition position) {
-        return position.getX() < 0 || position.getX() > 4 || position.getY() < 0 || position.getY() > 4;
+        return !tables.contains(position.getX(), position.getY());
     }
 
     /**
      * Retrieves the Square at the specified BoardPosition.
+     * Squares are views created on demand over the board's bit planes and worker slots; the board keeps none alive.
      *
      * @param boardPosition The position on the board.
      * @return The Square at the given position.
      */
     public Square getSquare(BoardPosition boardPosition) {
-        return squares[boardPosition.getX()][boardPosition.getY()];
+        int index = tables.cellOf(boardPosition);
+        if (index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Position " + boardPosition + " is off the board.");
+        }
+        return new Square(this, bits, index);
+    }
+
+    /**
+     * Helper method to convert a position to its cell index in the bit board
+     *
+     * @param position position on the board
+     * @return cell index, or MoveTables.NONE if the position is off the board
+     */
+    private int indexOf(BoardPosition position) {
+        return tables.cellOf(position);
+    }
+
+    /**
+     * Converts a position to its cell index on this board.
+     *
+     * @param position The position.
+     * @return The cell index, or {@link MoveTables#NONE} if the position is off the board.
+     */
+    public int cellOf(BoardPosition position) {
+        return tables.cellOf(position);
+    }
+
+    /**
+     * Returns the position of a cell on this board.
+     *
+     * @param cell The cell index.
+     * @return The shared position of that cell.
+     */
+    public BoardPosition positionOf(int cell) {
+        return tables.positionOf(cell);
+    }
+
+    /**
+     * Selects the cells of a mask that hold a worker owned by someone other than the given worker's owner.
+     *
+     * @param worker The worker whose opponents are looked for.
+     * @param cells  The candidate cells.
+     * @return The subset of {@code cells} occupied by opponent workers.
+     */
+    public long occupiedByOpponents(Worker worker, long cells) {
+        long opponents = 0;
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            Worker occupant = slotWorkers[slot];
+            if (occupant != null && slotCells[slot] != NO_CELL && !occupant.isAllyOf(worker)) {
+                opponents |= BitBoard.bit(slotCells[slot]);
+            }
+        }
+        return opponents & cells;
+    }
+
+    /**
+     * Builds the cell mask of a list of positions.
+     *
+     * @param positions on-board positions
+     * @return mask with the bit of every position set
+     */
+    public long maskOf(List<BoardPosition> positions) {
+        long mask = 0;
+        for (BoardPosition position : positions) {
+            mask |= BitBoard.bit(tables.cellOf(position));
+        }
+        return mask;
+    }
+
+    /**
+     * Appends the positions of the cells in a mask to a list, in ascending cell order.
+     *
+     * @param mask      cell mask
+     * @param positions list to append to
+     * @return the same list, for chaining
+     */
+    public List<BoardPosition> positionsOf(long mask, List<BoardPosition> positions) {
+        while (mask != 0) {
+            positions.add(tables.positionOf(Long.numberOfTrailingZeros(mask)));
+            mask &= mask - 1;
+        }
+        return positions;
+    }
+
+    /**
+     * Helper method to get the side a worker is hashed as
+     *
+     * @param worker worker
+     * @return 0 for the first player's workers, 1 otherwise
+     */
+    private int sideOf(Worker worker) {
+        return firstPlayer == null || worker.getOwner() == firstPlayer ? 0 : 1;
     }
 
     /**
-     * Determines if a given square on the board is currently occupied by a worker.
+     * Getter for the Zobrist key of the board: buildings, domes and workers.
+     * The key is maintained incrementally by every placement, move, push and build.
      *
-     * @param position The position of the square to check.
-     * @return true if the square is occupied, false otherwise.
+     * @return Zobrist key of the board
      */
-    private boolean isTargetOccupied(BoardPosition position) {
-        return getSquare(position).getIsOccupied();
+    public long getZobristKey() {
+        return bits.getZobristKey() ^ workerKey;
+    }
+
+    /**
+     * Getter for the cell numbering and adjacency of this board
+     *
+     * @return move tables of the board size
+     */
+    public MoveTables getTables() {
+        return tables;
+    }
+
+    public int getWidth() {
+        return tables.getWidth();
+    }
+
+    public int getHeight() {
+        return tables.getHeight();
     }
 
     /**
-     * Print action result message for debugging
+     * Getter for the bit planes backing this board
      *
-     * @param message message to log in print
+     * @return bit board
      */
-    private void logAction(String message) {
-        System.out.println(message);
+    public BitBoard getBitBoard() {
+        return bits;
     }
 }
@@ -1,10 +1,11 @@
 package org.example;
 
-import java.util.Objects;
-
 /**
  * Represents a position on the Santorini game board.
  * Each position is defined by its x (column) and y (row) coordinates.
+ * The 25 positions of the standard 5x5 board are interned: {@link #of(int, int)} and {@link #ofIndex(int)} return
+ * shared instances whose cell index and hash code are computed once. Boards of other sizes number their cells
+ * through {@link MoveTables#cellOf(BoardPosition)}.
  *
  * @author Lu Wang
  * @AndrewID luw2
@@ -14,6 +15,16 @@ public class BoardPosition {
     private final int x;
     // The y-coordinate (row) of the board position.
     private final int y;
+    // The cell index on the standard 5x5 board, or -1 if the position is off that board.
+    private final int index;
+    private final int hash;
+    private static final BoardPosition[] CELLS = new BoardPosition[BitBoard.CELLS];
+
+    static {
+        for (int i = 0; i < BitBoard.CELLS; i++) {
+            CELLS[i] = new BoardPosition(BitBoard.xOf(i), BitBoard.yOf(i));
+        }
+    }
 
     /**
      * Constructs a new BoardPosition with specified x and y coordinates.
@@ -24,6 +35,44 @@ public class BoardPosition {
     public BoardPosition(int x, int y) {
         this.x = x;
         this.y = y;
+        this.index = isOnBoard(x, y) ? BitBoard.indexOf(x, y) : -1;
+        this.hash = 31 * x + y;
+    }
+
+    /**
+     * Returns the shared instance for the given coordinates.
+     * Off-board coordinates are not interned and yield a fresh position, so bounds checks keep working.
+     *
+     * @param x The x coordinate (column) of the position.
+     * @param y The y coordinate (row) of the position.
+     * @return The position at (x, y).
+     */
+    public static BoardPosition of(int x, int y) {
+        if (isOnBoard(x, y)) {
+            return CELLS[BitBoard.indexOf(x, y)];
+        }
+        return new BoardPosition(x, y);
+    }
+
+    /**
+     * Returns the shared instance for a cell index.
+     *
+     * @param index The cell index, from 0 to 24.
+     * @return The position of that cell.
+     */
+    public static BoardPosition ofIndex(int index) {
+        return CELLS[index];
+    }
+
+    /**
+     * Helper method to check if coordinates fall on the board
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return true if (x, y) is on the board
+     */
+    private static boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < BitBoard.SIZE && y >= 0 && y < BitBoard.SIZE;
     }
 
     /**
@@ -44,6 +93,15 @@ public class BoardPosition {
         return y;
     }
 
+    /**
+     * Gets the cell index of this position on the standard 5x5 board.
+     *
+     * @return The cell index, or -1 if the position is off the standard board.
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Checks if this position is adjacent to another position.
      * Two positions are considered adjacent if they are in each other's immediate nine-square box
@@ -83,7 +141,7 @@ public class BoardPosition {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return hash;
     }
 
     /**
@@ -1,11 +0,0 @@
-package org.example.Exceptions;
-
-/**
- * @author Lu Wang
- * @AndrewID luw2
- */
-public class IllegalBuildException extends Exception{
-    public IllegalBuildException(String message) {
-        super(message);
-    }
-}
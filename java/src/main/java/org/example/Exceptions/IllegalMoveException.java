@@ -1,11 +0,0 @@
-package org.example.Exceptions;
-
-/**
- * @author Lu Wang
- * @AndrewID luw2
- */
-public class IllegalMoveException extends Exception {
-    public IllegalMoveException(String message) {
-        super(message);
-    }
-}
@@ -1,10 +1,10 @@
 package org.example;
 
-import org.example.Exceptions.IllegalBuildException;
-import org.example.Exceptions.IllegalMoveException;
 import org.example.godcards.GodCard;
 import org.example.godcards.GodCardFactory;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
@@ -27,6 +27,19 @@ public class Game {
     private GamePhase gamePhase;
     private PlayerAction currentAction;
     private final Map<Player, GodCard> godCards = new HashMap<>(); // Maps to store god cards assigned to each player
+    private static final GamePhase[] PHASES = GamePhase.values();
+    private static final PlayerAction[] ACTIONS = PlayerAction.values();
+    private static final int WORKER_SLOTS = 4;
+    private static final int UNDO_CELL_BITS = UndoRecord.CELL_BITS;
+    private static final int SNAPSHOT_CELL_BITS = 5;
+    private static final long[] NO_UNDO_RECORDS = new long[0];
+    private static final int[] NO_TURNS = new int[0];
+    private long[] undoStack = NO_UNDO_RECORDS; // Undo records of actions applied through makeMove/makeBuild/makeSkip
+    private int undoDepth = 0;
+    private int[] turnStarts = NO_TURNS; // Undo depth at the start of each turn applied through makeTurn
+    private int turnDepth = 0;
+    private long stateKey; // Zobrist keys of the side to move, phase, action and the cached god card turn states
+    private final int[] godStateKeys = new int[2]; // God card turn states currently folded into stateKey
 
     /**
      * Defines the possible states of the game.
@@ -49,24 +62,87 @@ public class Game {
     }
 
     /**
-     * Initializes a new game with two players.
+     * Initializes a new game with two players on the standard 5x5 board.
      *
      * @param player1 The first player.
      * @param player2 The second player.
      */
     public Game(Player player1, Player player2) {
+        this(player1, player2, BitBoard.SIZE, BitBoard.SIZE);
+    }
+
+    /**
+     * Initializes a new game with two players on a board of the given size.
+     *
+     * @param player1 The first player.
+     * @param player2 The second player.
+     * @param width   The number of columns.
+     * @param height  The number of rows.
+     * @throws IllegalArgumentException if a side is shorter than 2 or the board has more than 64 cells.
+     */
+    public Game(Player player1, Player player2, int width, int height) {
         players.add(player1);
         players.add(player2);
+        player1.setIndex(0);
+        player2.setIndex(1);
         currentPlayer = player1; // Start game with player1
         currentWorker = player1.getWorkers().get(0);
         gamePhase = GamePhase.INITIALIZE;
         currentAction = null;
-        board = new Board();
+        board = new Board(player1, width, height);
+        stateKey = Zobrist.phase(gamePhase) ^ Zobrist.action(currentAction);
         // Initialize god cards map with no god cards assigned yet
         godCards.put(player1, null);
         godCards.put(player2, null);
     }
 
+    /**
+     * Creates an independent copy of a game, see {@link #fork()}.
+     *
+     * @param source The game to copy.
+     */
+    private Game(Game source) {
+        Player player1 = new Player(source.players.get(0));
+        Player player2 = new Player(source.players.get(1));
+        players.add(player1);
+        players.add(player2);
+        player1.setIndex(0);
+        player2.setIndex(1);
+        Worker[] workers = new Worker[WORKER_SLOTS];
+        for (int slot = 0; slot < WORKER_SLOTS; slot++) {
+            workers[slot] = getWorker(slot);
+        }
+        board = new Board(source.board, player1, workers);
+        for (int i = 0; i < players.size(); i++) {
+            GodCard godCard = source.godCards.get(source.players.get(i));
+            GodCard copy = GodCardFactory.createGodCard(GodCardFactory.idOf(godCard));
+            if (copy != null) {
+                copy.restoreTurnState(godCard.saveTurnState(), board);
+            }
+            godCards.put(players.get(i), copy);
+        }
+        currentPlayer = players.get(source.playerIndex(source.currentPlayer));
+        int workerSlot = source.slotOf(source.currentWorker);
+        currentWorker = workerSlot == UndoRecord.NO_WORKER ? null : workers[workerSlot];
+        gamePhase = source.gamePhase;
+        currentAction = source.currentAction;
+        winner = source.winner == null ? null : players.get(source.playerIndex(source.winner));
+        stateKey = source.stateKey;
+        System.arraycopy(source.godStateKeys, 0, godStateKeys, 0, godStateKeys.length);
+    }
+
+    /**
+     * Creates an independent copy of the game for what-if analysis: new players, workers, board and god cards
+     * in the same position, sharing no mutable state with this game. The board's bit planes, slot table and
+     * cached counts are copied as a block; god cards carry over only their packed per-turn state.
+     * The copy starts with an empty undo history, like {@link #restore(GameSnapshot)}.
+     *
+     * @return The forked game.
+     */
+    public Game fork() {
+        return new Game(this);
+    }
+
     /**
      * Method to select a god card before placing workers
      *
@@ -82,10 +158,10 @@ public class Game {
             godCard = GodCardFactory.createGodCard(godCardName); // Create god card if a valid name is provided
         }
         godCards.put(player, godCard); // Assign null or a specific god card
-        logAction("Player: " + player.getPlayerID() + " - God Card: " + godCardName);
+        GameLog.info("Player: {} - God Card: {}", player.getPlayerID(), godCardName);
         // Check if all players have selected their god cards
         if (players.stream().allMatch(godCards::containsKey)) {
-            gamePhase = GamePhase.PLACE_WORKER; // Transition to next phase
+            setGamePhase(GamePhase.PLACE_WORKER); // Transition to next phase
         }
     }
 
@@ -99,15 +175,15 @@ public class Game {
      */
     public boolean placeWorker(Worker worker, BoardPosition position) {
         if (gamePhase == GamePhase.INITIALIZE) {
-            gamePhase = GamePhase.PLACE_WORKER;
+            setGamePhase(GamePhase.PLACE_WORKER);
         }
         // Check game state and current player
         if (gamePhase != GamePhase.PLACE_WORKER) {
-            logAction("It is not PLACE_WORKER phase now. You should not place workers.");
+            GameLog.debug("It is not PLACE_WORKER phase now. You should not place workers.");
             return false;
         }
         if (worker == null) {
-            logAction("Worker not found.");
+            GameLog.debug("Worker not found.");
             return false;
         }
         try {
@@ -119,7 +195,7 @@ public class Game {
                 return false;
             }
         } catch (IllegalArgumentException e) {
-            logAction(e.getMessage());
+            GameLog.debug(e.getMessage());
         }
         return false;
     }
@@ -127,25 +203,22 @@ public class Game {
     /**
      * Method to select a worker before a Move
      *
-     * @param workerId workerId of selected worker
-     * @param playerId playerId of the select worker's owner
+     * @param workerIndex index of the selected worker, 0-1 for the first player's workers and 2-3 for the second's
      * @return true is selected successfully
      */
-    public boolean selectWorker(String workerId, String playerId) {
-        // Check if it's the player's turn
-        if (!currentPlayer.getPlayerID().equals(playerId)) {
-            logAction("It's not player " + playerId + "'s turn. Current player: " + currentPlayer.getPlayerID());
+    public boolean selectWorker(int workerIndex) {
+        if (workerIndex < 0 || workerIndex >= WORKER_SLOTS) {
+            GameLog.debug("Worker {} not found", workerIndex);
             return false;
         }
-        Worker selectedWorker = findWorkerById(workerId);
         // Verify the worker belongs to the current player
-        if (selectedWorker == null || !selectedWorker.getOwnerID().equals(playerId)) {
-            logAction("Worker " + workerId + " not found or does not belong to player " + playerId);
+        if (workerIndex >> 1 != playerIndex(currentPlayer)) {
+            GameLog.debug("Worker {} does not belong to the current player {}", workerIndex, currentPlayer.getPlayerID());
             return false;
         }
         // Set the current worker to the selected worker
-        this.currentWorker = selectedWorker;
-        logAction("Worker " + workerId + " selected by player " + playerId);
+        this.currentWorker = getWorker(workerIndex);
+        GameLog.debug("Worker {} selected", currentWorker.getWorkerID());
         return true;
     }
 
@@ -156,86 +229,114 @@ public class Game {
      * @return true if the move was successful, false otherwise.
      */
     public boolean moveWorker(BoardPosition newPosition) {
-        if (!validateMovePreconditions()) {
+        int action = prepareMove(newPosition);
+        if (Action.isRejected(action)) {
             return false;
         }
-        BoardPosition oldPosition = currentWorker.getPosition();
-        try {
-            // Perform the actual move for the current worker
-            if (performMove(newPosition)) {
-                postMoveActions(oldPosition, newPosition);
-                return true;
-            }
-        } catch (Exception e) {
-            logAction(e.getMessage());
+        executeAction(action);
+        return true;
+    }
+
+    /**
+     * Validates a move of the current worker once, including god card effects, and returns it as an action token.
+     * The token already holds where a displaced opponent ends up and whether the move wins,
+     * so {@link #executeAction(int)} applies it without checking the rules again.
+     *
+     * @param newPosition The new position for the worker.
+     * @return The encoded move, see {@link Action}, or a rejected code naming the rule it breaks.
+     */
+    public int prepareMove(BoardPosition newPosition) {
+        RuleResult preconditions = validateMovePreconditions();
+        if (preconditions != RuleResult.OK) {
+            return Action.rejected(preconditions);
         }
-        return false;
+        int to = board.cellOf(newPosition);
+        if (to == MoveTables.NONE || (calculateLegalMoveMask(currentWorker) & BitBoard.bit(to)) == 0) {
+            return Action.rejected(explainRefusal(board.checkMove(currentWorker.getPosition(), newPosition)));
+        }
+        int from = board.cellOf(currentWorker.getPosition());
+        BitBoard bits = board.getBitBoard();
+        GodCard godCard = godCards.get(currentPlayer);
+        if (godCard == null) {
+            return Action.move(slotOf(currentWorker), to, Action.NONE, bits.isClimbToThirdLevel(from, to));
+        }
+        int displaced = bits.isOccupied(to) ? godCard.displacedWorkerCell(from, to, bits) : MoveTables.NONE;
+        return Action.move(slotOf(currentWorker), to, displaced == MoveTables.NONE ? Action.NONE : displaced,
+                godCard.winsByMove(from, to, bits));
     }
 
     /**
      * Validate if required move preconditions is satisfied
      *
-     * @return true if move preconditions meet required
+     * @return OK if move preconditions meet required, otherwise the one that fails
      */
-    private boolean validateMovePreconditions() {
+    private RuleResult validateMovePreconditions() {
+        if (gamePhase == GamePhase.GAME_OVER) {
+            return RuleResult.GAME_OVER;
+        }
         // Ensure there is a current worker selected.
-        if (currentWorker == null) {
-            logAction("No worker has been selected for moving.");
-            return false;
+        if (currentWorker == null || currentWorker.getPosition() == null) {
+            return RuleResult.NO_WORKER_SELECTED;
         }
-        // Check game state
-        if (gamePhase != GamePhase.MOVE) {
-            logAction("It's not your turn or you should build now.");
-            return false;
+        // Check current player
+        if (isNotPlayerTurn(currentWorker.getOwner())) {
+            return RuleResult.NOT_YOUR_TURN;
         }
-        // Check current player, current action
-        if (isNotPlayerTurn(currentWorker.getOwnerID()) || isNotCurrentAction(PlayerAction.MOVE)) {
-            logAction("It's not your turn or you should build now.");
-            return false;
+        // Check game state, current action
+        if (gamePhase != GamePhase.MOVE || isNotCurrentAction(PlayerAction.MOVE)) {
+            return RuleResult.WRONG_PHASE;
         }
-        return true;
+        return RuleResult.OK;
     }
 
     /**
-     * Perform move without or with god cards if applicable
+     * Helper method to name why the legal target mask refused an action: the standard rule it breaks,
+     * or the god card when only the card's power rules it out
      *
-     * @param newPosition new position to move to
-     * @return true if move is successful
-     * @throws IllegalMoveException illegal move exception
+     * @param standard result of the standard-rule check
+     * @return reason for the refusal
      */
-    private boolean performMove(BoardPosition newPosition) throws IllegalMoveException {
-        // Get the god card, if any
-        GodCard godCard = godCards.get(currentPlayer);
-        BoardPosition oldPosition = currentWorker.getPosition();
-        // Step 1: Check if the move is valid including special push logic
-        if (godCard != null && !godCard.modifyMoveValidation(currentWorker, oldPosition, newPosition, board)) {
-            logAction("Move rejected by god card.");
-            return false;
-        }
-        // Step 2: Execute pre-move
-        if (godCard != null && board.getSquare(newPosition).getIsOccupied()) {
-            godCard.preMoveExecution(currentWorker, oldPosition, newPosition, board);
+    private RuleResult explainRefusal(RuleResult standard) {
+        GameLog.debug("Action of {} refused: {}", currentWorker.getWorkerID(), standard);
+        return standard == RuleResult.OK ? RuleResult.GOD_CARD_RULE : standard;
+    }
+
+    /**
+     * Applies an action token from {@link #prepareMove} or {@link #prepareBuild} without validating it again.
+     * The token must be executed in the position it was prepared in, and so by the current worker.
+     *
+     * @param action The encoded action, see {@link Action}.
+     */
+    public void executeAction(int action) {
+        Worker worker = currentWorker;
+        int cell = Action.cell(action);
+        if (Action.isBuild(action)) {
+            board.applyBuild(cell, Action.isDome(action));
+            GameLog.debug("Successful build at {} by {}.", board.positionOf(cell), worker.getWorkerID());
+            postBuildActions(board.positionOf(cell));
+            return;
         }
-        return board.moveWorkerTo(currentWorker, newPosition);
+        BoardPosition oldPosition = worker.getPosition();
+        int displaced = Action.displacedCell(action);
+        board.applyMove(worker, cell, displaced == Action.NONE ? MoveTables.NONE : displaced);
+        GameLog.debug("Successful move. {} moved to {}.", worker.getWorkerID(), board.positionOf(cell));
+        postMoveActions(oldPosition, board.positionOf(cell), Action.isWin(action));
     }
 
     /**
      * Perform actions post move
      *
+     * @param oldPosition position the worker moved from
      * @param newPosition new position that moves to
+     * @param win         true if the move wins, as decided when it was validated
      */
-    private void postMoveActions(BoardPosition oldPosition, BoardPosition newPosition) {
+    private void postMoveActions(BoardPosition oldPosition, BoardPosition newPosition, boolean win) {
         GodCard godCard = godCards.get(currentPlayer);
         // Execute any god card-specific post-move logic.
         if (godCard != null) {
             godCard.postMoveExecution(this, currentWorker, oldPosition, newPosition);
         }
-        // Check god card specific win condition first
-        if (godCard != null && godCard.checkWinCondition(currentWorker, oldPosition, newPosition, board)) {
-            declareWinner(currentPlayer);
-        }
-        // Check standard win condition (reaching third level).
-        if (board.hasWorkerClimbToThirdLevelByItsOwn(currentWorker, oldPosition, newPosition)) {
+        if (win) {
             declareWinner(currentPlayer);
         } else {
             // If no win conditions are met, proceed to the build phase.
@@ -251,60 +352,54 @@ public class Game {
      * @return true if the build was successful, false otherwise.
      */
     public boolean buildBlock(BoardPosition buildPosition) {
-        if (!validateBuildPreconditions()) {
+        int action = prepareBuild(buildPosition);
+        if (Action.isRejected(action)) {
             return false;
         }
-        try {
-            if (performBuild(buildPosition)) {
-                postBuildActions(buildPosition);
-                return true;
-            }
-            return false;
-        } catch (Exception e) {
-            logAction(e.getMessage());
-        }
-        return false;
+        executeAction(action);
+        return true;
     }
 
     /**
-     * Validate if required move preconditions is satisfied
+     * Validates a build of the current worker once, including god card restrictions, and returns it as an action token.
      *
-     * @return true if move preconditions meet required
+     * @param buildPosition The position where the block or dome is to be built.
+     * @return The encoded build, see {@link Action}, or a rejected code naming the rule it breaks.
      */
-    private boolean validateBuildPreconditions() {
-        // First, ensure there is a current worker selected.
-        if (currentWorker == null) {
-            logAction("No worker has been selected for building.");
-            return false;
-        }
-        // Second, check game state
-        if (gamePhase != GamePhase.BUILD && gamePhase != GamePhase.SECOND_BUILD) {
-            logAction("It's not the correct phase for building.");
-            return false;
+    public int prepareBuild(BoardPosition buildPosition) {
+        RuleResult preconditions = validateBuildPreconditions();
+        if (preconditions != RuleResult.OK) {
+            return Action.rejected(preconditions);
         }
-        // Check current player, current action
-        if (isNotPlayerTurn(currentWorker.getOwnerID()) || isNotCurrentAction(PlayerAction.BUILD)) {
-            logAction("It's not your turn or you should move now.");
-            return false;
+        int cell = board.cellOf(buildPosition);
+        if (cell == MoveTables.NONE || (calculateLegalBuildMask(currentWorker) & BitBoard.bit(cell)) == 0) {
+            return Action.rejected(explainRefusal(board.checkBuild(currentWorker.getPosition(), buildPosition)));
         }
-        return true;
+        return Action.build(slotOf(currentWorker), cell, board.getBitBoard().getHeight(cell) == 3);
     }
 
     /**
-     * Perform build without or with god cards if applicable
+     * Validate if required build preconditions is satisfied
      *
-     * @param buildPosition The position where to build.
-     * @return true if build is successful
-     * @throws IllegalBuildException if the build is not allowed
+     * @return OK if build preconditions meet required, otherwise the one that fails
      */
-    private boolean performBuild(BoardPosition buildPosition) throws IllegalBuildException {
-        GodCard godCard = godCards.get(currentPlayer);
-        // Check god card rules if applicable
-        if (godCard != null && !godCard.modifyBuildValidation(currentWorker, buildPosition, board)) {
-            logAction("Build rejected by god card.");
-            return false;
+    private RuleResult validateBuildPreconditions() {
+        if (gamePhase == GamePhase.GAME_OVER) {
+            return RuleResult.GAME_OVER;
+        }
+        // First, ensure there is a current worker selected.
+        if (currentWorker == null || currentWorker.getPosition() == null) {
+            return RuleResult.NO_WORKER_SELECTED;
         }
-        return board.buildAt(currentWorker, buildPosition);
+        // Check current player
+        if (isNotPlayerTurn(currentWorker.getOwner())) {
+            return RuleResult.NOT_YOUR_TURN;
+        }
+        // Check game state, current action
+        if ((gamePhase != GamePhase.BUILD && gamePhase != GamePhase.SECOND_BUILD) || isNotCurrentAction(PlayerAction.BUILD)) {
+            return RuleResult.WRONG_PHASE;
+        }
+        return RuleResult.OK;
     }
 
     /**
@@ -316,7 +411,7 @@ public class Game {
         GodCard godCard = godCards.get(currentPlayer);
         if (godCard != null) {
             godCard.postBuildExecution(this, currentWorker, buildPosition);
-            logAction("Game phase after postBuildAction: " + getGamePhase()); // This should log SECOND_BUILD or other appropriate phase.
+            GameLog.debug("Game phase after postBuildAction: {}", gamePhase); // This should log SECOND_BUILD or other appropriate phase.
         } else {
             // Standard behavior when no god card is involved
             switchTurn(); // Or end the build phase normally
@@ -334,22 +429,499 @@ public class Game {
             godCard.skipAction(this);
             return true;
         } else {
-            logAction("No god card action to skip or no god card assigned.");
+            GameLog.debug("No god card action to skip or no god card assigned.");
         }
         return false;
     }
 
+    /**
+     * Selects the given worker and moves it like {@link #moveWorker}, recording how to take the move back.
+     * Together with {@link #makeBuild}, {@link #makeSkip} and {@link #unmakeAction()} this lets search code
+     * walk alternatives in place instead of rebuilding the game.
+     *
+     * @param worker      The worker to move; it must be one of the game's workers.
+     * @param newPosition The new position for the worker.
+     * @return true if the move was made; nothing is recorded otherwise.
+     */
+    public boolean makeMove(Worker worker, BoardPosition newPosition) {
+        pushUndoRecord();
+        currentWorker = worker;
+        if (moveWorker(newPosition)) {
+            return true;
+        }
+        unmakeAction();
+        return false;
+    }
+
+    /**
+     * Builds like {@link #buildBlock} and records how to take the build back.
+     *
+     * @param buildPosition The position where the block or dome is to be built.
+     * @return true if the build was made; nothing is recorded otherwise.
+     */
+    public boolean makeBuild(BoardPosition buildPosition) {
+        pushUndoRecord();
+        if (buildBlock(buildPosition)) {
+            undoStack[undoDepth - 1] = UndoRecord.withBuiltCell(undoStack[undoDepth - 1], board.cellOf(buildPosition));
+            return true;
+        }
+        unmakeAction();
+        return false;
+    }
+
+    /**
+     * Skips the optional god card action like {@link #skipGodCardAction()} and records how to take it back.
+     *
+     * @return true if the skip was made; nothing is recorded otherwise.
+     */
+    public boolean makeSkip() {
+        pushUndoRecord();
+        if (skipGodCardAction()) {
+            return true;
+        }
+        undoDepth--;
+        return false;
+    }
+
+    /**
+     * Plays a complete turn from {@link #generateTurns(int[])} through the regular rules:
+     * the move, the build and, where the god card offers one, the second build or its skip.
+     * A turn whose win flag does not match what its move actually does, or that names a cell off the board, is refused.
+     *
+     * @param turn The encoded turn, see {@link Turn}.
+     * @return true if the whole turn was played; nothing is changed otherwise.
+     */
+    public boolean makeTurn(int turn) {
+        int cells = board.getTables().getCells();
+        if (Turn.moveCell(turn) >= cells || !isCellOrNone(Turn.buildCell(turn), cells)
+                || !isCellOrNone(Turn.secondBuildCell(turn), cells)) {
+            return false;
+        }
+        int start = undoDepth;
+        boolean made = makeMove(getWorker(Turn.workerSlot(turn)), board.positionOf(Turn.moveCell(turn)));
+        boolean won = gamePhase == GamePhase.GAME_OVER;
+        if (made && won != Turn.isWin(turn)) {
+            made = false;
+        } else if (made && !won) {
+            made = makeBuild(board.positionOf(Turn.buildCell(turn)));
+            int secondBuild = Turn.secondBuildCell(turn);
+            if (made && gamePhase == GamePhase.SECOND_BUILD) {
+                made = secondBuild == Turn.NONE ? makeSkip() : makeBuild(board.positionOf(secondBuild));
+            } else if (made && secondBuild != Turn.NONE) {
+                made = false;
+            }
+        }
+        if (!made) {
+            while (undoDepth > start) {
+                unmakeAction();
+            }
+            return false;
+        }
+        if (turnDepth == turnStarts.length) {
+            turnStarts = Arrays.copyOf(turnStarts, Math.max(8, turnDepth * 2));
+        }
+        turnStarts[turnDepth++] = start;
+        return true;
+    }
+
+    /**
+     * Helper method to check a cell field of an encoded turn
+     *
+     * @param cell  cell index, or {@link Turn#NONE}
+     * @param cells number of cells on the board
+     * @return true if the field names a cell on the board or no cell
+     */
+    private static boolean isCellOrNone(int cell, int cells) {
+        return cell < cells || cell == Turn.NONE;
+    }
+
+    /**
+     * Replays a recorded sequence of turns, encoded as in {@link Turn}, from the start of a turn.
+     * With validation each turn goes through {@link #makeTurn(int)} and replay stops at the first turn the rules
+     * refuse, leaving the game after the last accepted turn. Without validation the turns come from a trusted
+     * source, such as the game's own archive, and are applied straight to the board: the move with its recorded
+     * push or swap, the builds, and the switch to the other player; nothing is checked or recorded.
+     * Replay stops early when the game ends. The undo history is cleared, since replayed turns cannot be taken back.
+     *
+     * @param turns    Buffer of encoded turns.
+     * @param offset   Index of the first turn to replay.
+     * @param length   Number of turns to replay.
+     * @param validate true to check every turn against the rules.
+     * @return The number of turns applied.
+     * @throws IllegalStateException if the game is not waiting for a move
+     */
+    public int replay(int[] turns, int offset, int length, boolean validate) {
+        requireStartOfTurn();
+        int applied = 0;
+        while (applied < length && gamePhase == GamePhase.MOVE && replayTurn(turns[offset + applied], validate)) {
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Replays recorded turns stored as 4-byte ints from the buffer's position, as {@link #replay(int[], int, int, boolean)}.
+     * The buffer's position is advanced past the turns applied.
+     *
+     * @param turns    Buffer of encoded turns.
+     * @param validate true to check every turn against the rules.
+     * @return The number of turns applied.
+     * @throws IllegalStateException if the game is not waiting for a move
+     */
+    public int replay(ByteBuffer turns, boolean validate) {
+        requireStartOfTurn();
+        int applied = 0;
+        while (turns.remaining() >= Integer.BYTES && gamePhase == GamePhase.MOVE
+                && replayTurn(turns.getInt(turns.position()), validate)) {
+            turns.position(turns.position() + Integer.BYTES);
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Helper method to reject replay unless the game is waiting for a move, and to drop the undo history
+     */
+    private void requireStartOfTurn() {
+        if (gamePhase != GamePhase.MOVE && gamePhase != GamePhase.GAME_OVER) {
+            throw new IllegalStateException("Turns can only be replayed from the start of a turn, not in " + gamePhase + ".");
+        }
+        undoDepth = 0;
+        turnDepth = 0;
+    }
+
+    /**
+     * Helper method to replay one turn
+     *
+     * @param turn     encoded turn
+     * @param validate true to check the turn against the rules
+     * @return true if the turn was applied
+     */
+    private boolean replayTurn(int turn, boolean validate) {
+        if (validate) {
+            if (!makeTurn(turn)) {
+                return false;
+            }
+            if (gamePhase != GamePhase.MOVE && gamePhase != GamePhase.GAME_OVER) {
+                unmakeTurn(); // Never leave an untrusted archive's game partway through a turn
+                return false;
+            }
+            undoDepth = 0;
+            turnDepth = 0;
+            return true;
+        }
+        currentWorker = getWorker(Turn.workerSlot(turn));
+        int displaced = Turn.displacedCell(turn);
+        board.applyMove(currentWorker, Turn.moveCell(turn), displaced == Turn.NONE ? MoveTables.NONE : displaced);
+        if (Turn.isWin(turn)) {
+            declareWinner(currentPlayer);
+            return true;
+        }
+        BitBoard bits = board.getBitBoard();
+        int build = Turn.buildCell(turn);
+        board.applyBuild(build, bits.getHeight(build) == 3);
+        int secondBuild = Turn.secondBuildCell(turn);
+        if (secondBuild != Turn.NONE) {
+            board.applyBuild(secondBuild, bits.getHeight(secondBuild) == 3);
+        }
+        switchTurn();
+        return true;
+    }
+
+    /**
+     * Takes back the most recent turn played through {@link #makeTurn(int)}.
+     */
+    public void unmakeTurn() {
+        if (turnDepth == 0) {
+            throw new IllegalStateException("There is no turn to undo.");
+        }
+        int start = turnStarts[--turnDepth];
+        while (undoDepth > start) {
+            unmakeAction();
+        }
+    }
+
+    /**
+     * Takes back the most recent action made through makeMove, makeBuild or makeSkip.
+     * Restores worker cells, the built block or dome, phase, action, current player and worker,
+     * winner and the god cards' per-turn state in constant time.
+     */
+    public void unmakeAction() {
+        if (undoDepth == 0) {
+            throw new IllegalStateException("There is no action to undo.");
+        }
+        long record = undoStack[--undoDepth];
+        int builtCell = UndoRecord.builtCell(record);
+        if (builtCell != UndoRecord.NO_CELL) {
+            board.unbuildAt(board.positionOf(builtCell));
+        }
+        restoreWorkerCells(record, UNDO_CELL_BITS);
+        setGamePhase(PHASES[UndoRecord.phase(record)]);
+        int action = UndoRecord.action(record);
+        setPlayerAction(action == 0 ? null : ACTIONS[action - 1]);
+        setCurrentPlayer(players.get(UndoRecord.player(record)));
+        int workerSlot = UndoRecord.currentWorker(record);
+        currentWorker = workerSlot == UndoRecord.NO_WORKER ? null : getWorker(workerSlot);
+        int winnerIndex = UndoRecord.winner(record);
+        winner = winnerIndex == 0 ? null : players.get(winnerIndex - 1);
+        for (int i = 0; i < players.size(); i++) {
+            GodCard godCard = godCards.get(players.get(i));
+            if (godCard != null) {
+                godCard.restoreTurnState(UndoRecord.godState(record, i), board);
+            }
+        }
+    }
+
+    /**
+     * Lists every complete legal turn of the player to move (move, build and optional second build)
+     * as encoded ints, see {@link Turn}. The game is not changed.
+     *
+     * @param turns buffer of at least {@link TurnGenerator#MAX_TURNS} entries
+     * @return number of turns written
+     */
+    public int generateTurns(int[] turns) {
+        return TurnGenerator.generate(this, turns);
+    }
+
+    /**
+     * Captures the complete position in an immutable two-long snapshot.
+     * Takes constant time and allocates only the snapshot itself.
+     *
+     * @return snapshot of the current state
+     * @throws IllegalStateException if the game is not played on the standard 5x5 board
+     */
+    public GameSnapshot snapshot() {
+        requireStandardBoard();
+        int workerCells = 0;
+        for (int slot = 0; slot < WORKER_SLOTS; slot++) {
+            int cell = cellOf(getWorker(slot));
+            workerCells |= (cell == UndoRecord.NO_CELL ? GameSnapshot.NO_CELL : cell) << (slot * SNAPSHOT_CELL_BITS);
+        }
+        int side = playerIndex(currentPlayer);
+        int pendingBuild = godTurnState(side);
+        return GameSnapshot.pack(board.getBitBoard(), workerCells, side, gamePhase, currentAction,
+                slotOf(currentWorker),
+                winner == null ? 0 : playerIndex(winner) + 1,
+                GodCardFactory.idOf(godCards.get(players.get(0))),
+                GodCardFactory.idOf(godCards.get(players.get(1))),
+                pendingBuild == 0 ? GameSnapshot.NO_CELL : pendingBuild - 1);
+    }
+
+    /**
+     * Puts the game back into the position of a snapshot, in constant time.
+     * God cards are replaced only if the snapshot names a different card. The undo stack is cleared,
+     * since its records describe changes relative to the position being replaced.
+     *
+     * @param snapshot snapshot taken by {@link #snapshot()}
+     * @throws IllegalStateException if the game is not played on the standard 5x5 board
+     */
+    public void restore(GameSnapshot snapshot) {
+        requireStandardBoard();
+        BitBoard bits = board.getBitBoard();
+        for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+            int value = snapshot.cellValue(cell);
+            int current = bits.hasDome(cell) ? GameSnapshot.DOME : bits.getHeight(cell);
+            if (value != current) {
+                bits.setTower(cell, Math.min(value, 3), value == GameSnapshot.DOME);
+            }
+        }
+        restoreWorkerCells(snapshot.workerCells(), SNAPSHOT_CELL_BITS);
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (GodCardFactory.idOf(godCards.get(player)) != snapshot.getGodCard(i)) {
+                godCards.put(player, GodCardFactory.createGodCard(snapshot.getGodCard(i)));
+            }
+        }
+        setGamePhase(snapshot.getGamePhase());
+        setPlayerAction(snapshot.getPlayerAction());
+        setCurrentPlayer(players.get(snapshot.getSideToMove()));
+        int workerSlot = snapshot.getCurrentWorker();
+        currentWorker = workerSlot == GameSnapshot.NO_WORKER ? null : getWorker(workerSlot);
+        winner = snapshot.getWinner() == 0 ? null : players.get(snapshot.getWinner() - 1);
+        int pendingBuild = snapshot.getPendingBuildCell();
+        for (int i = 0; i < players.size(); i++) {
+            GodCard godCard = godCards.get(players.get(i));
+            if (godCard != null) {
+                godCard.restoreTurnState(i == snapshot.getSideToMove() && pendingBuild != GameSnapshot.NO_CELL ? pendingBuild + 1 : 0, board);
+            }
+        }
+        undoDepth = 0;
+        turnDepth = 0;
+    }
+
+    /**
+     * Returns the 64-bit Zobrist key of the whole game state: towers, domes, workers of each side, the side to move,
+     * phase, action, the worker that must build, and both god cards' turn state.
+     * Board pieces and turn fields are hashed incrementally as they change; god card turn states are folded in
+     * when they differ from the last call, which costs two lookups.
+     *
+     * @return Zobrist key of the current state
+     */
+    public long getZobristKey() {
+        for (int i = 0; i < godStateKeys.length; i++) {
+            int state = godTurnState(i) & (Zobrist.GOD_STATES - 1);
+            if (state != godStateKeys[i]) {
+                stateKey ^= Zobrist.godState(i, godStateKeys[i]) ^ Zobrist.godState(i, state);
+                godStateKeys[i] = state;
+            }
+        }
+        long key = board.getZobristKey() ^ stateKey;
+        if ((gamePhase == GamePhase.BUILD || gamePhase == GamePhase.SECOND_BUILD) && currentWorker != null) {
+            int cell = cellOf(currentWorker);
+            if (cell != UndoRecord.NO_CELL) {
+                key ^= Zobrist.builder(cell);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Getter for the number of actions that can be taken back
+     *
+     * @return undo stack depth
+     */
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    /**
+     * Helper method to reject snapshots on boards other than 5x5, whose cells do not fit the snapshot layout
+     */
+    private void requireStandardBoard() {
+        if (board.getTables() != MoveTables.STANDARD) {
+            throw new IllegalStateException("Snapshots only hold the standard " + BitBoard.SIZE + "x" + BitBoard.SIZE
+                    + " board, not " + board.getWidth() + "x" + board.getHeight() + ".");
+        }
+    }
+
+    /**
+     * Captures the current state into a new undo record on top of the undo stack.
+     */
+    private void pushUndoRecord() {
+        if (undoDepth == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, Math.max(16, undoDepth * 2)); // allocated on first use so idle games stay small
+        }
+        long record = UndoRecord.pack(gamePhase.ordinal(),
+                currentAction == null ? 0 : currentAction.ordinal() + 1,
+                playerIndex(currentPlayer),
+                slotOf(currentWorker),
+                winner == null ? 0 : playerIndex(winner) + 1,
+                godTurnState(0),
+                godTurnState(1));
+        for (int slot = 0; slot < WORKER_SLOTS; slot++) {
+            record = UndoRecord.withWorkerCell(record, slot, cellOf(getWorker(slot)));
+        }
+        undoStack[undoDepth++] = record;
+    }
+
+    /**
+     * Puts every game worker on the cell saved in a packed list of worker cells.
+     * Workers are lifted first and placed afterwards so swapped workers never clear each other's squares.
+     *
+     * @param cells    worker cells, one field per slot starting at bit 0; a field with every bit set means off board
+     * @param cellBits width of one field
+     */
+    private void restoreWorkerCells(long cells, int cellBits) {
+        int noCell = (1 << cellBits) - 1;
+        for (int slot = 0; slot < WORKER_SLOTS; slot++) {
+            Worker worker = getWorker(slot);
+            int cell = (int) (cells >>> (slot * cellBits)) & noCell;
+            if (cellOf(worker) != (cell == noCell ? UndoRecord.NO_CELL : cell)) {
+                board.removeWorker(worker);
+            }
+        }
+        for (int slot = 0; slot < WORKER_SLOTS; slot++) {
+            Worker worker = getWorker(slot);
+            int cell = (int) (cells >>> (slot * cellBits)) & noCell;
+            if (cell != noCell && cellOf(worker) != cell) {
+                board.updateWorkerPosition(worker, board.positionOf(cell));
+            }
+        }
+    }
+
+    /**
+     * Getter for a worker by index, 0-1 for the first player's workers and 2-3 for the second's.
+     * The index is also the worker's slot in undo records and snapshots.
+     *
+     * @param slot worker index
+     * @return the worker
+     */
+    public Worker getWorker(int slot) {
+        return players.get(slot >> 1).getWorkers().get(slot & 1);
+    }
+
+    /**
+     * Helper method to find the slot of a worker
+     *
+     * @param worker worker, may be null
+     * @return slot of the worker, or UndoRecord.NO_WORKER if it is not one of the game's workers
+     */
+    private int slotOf(Worker worker) {
+        if (worker == null) {
+            return UndoRecord.NO_WORKER;
+        }
+        int index = worker.getIndex();
+        if (index >= 0 && getWorker(index) == worker) {
+            return index;
+        }
+        // The players' indices were assigned by another game
+        for (int slot = 0; slot < WORKER_SLOTS; slot++) {
+            if (getWorker(slot) == worker) {
+                return slot;
+            }
+        }
+        return UndoRecord.NO_WORKER;
+    }
+
+    /**
+     * Helper method to get the cell a worker stands on
+     *
+     * @param worker worker
+     * @return cell index, or UndoRecord.NO_CELL if the worker is not on the board
+     */
+    private int cellOf(Worker worker) {
+        BoardPosition position = worker.getPosition();
+        int cell = position == null ? MoveTables.NONE : board.cellOf(position);
+        return cell < 0 ? UndoRecord.NO_CELL : cell;
+    }
+
+    /**
+     * Helper method to get a player's index
+     *
+     * @param player player
+     * @return 0 for the first player, 1 for the second
+     */
+    int playerIndex(Player player) {
+        return player == players.get(0) ? 0 : 1;
+    }
+
+    /**
+     * Helper method to get the per-turn state of a player's god card
+     *
+     * @param index player index
+     * @return god card turn state, or 0 if the player has no god card
+     */
+    private int godTurnState(int index) {
+        GodCard godCard = godCards.get(players.get(index));
+        return godCard == null ? 0 : godCard.saveTurnState();
+    }
+
     /**
      * Switches the turn to the next player.
      */
     public void switchTurn() {
-        logAction("Current phase before switchTurn: " + gamePhase);
-        currentPlayer = (currentPlayer == players.get(0)) ? players.get(1) : players.get(0);
+        GameLog.debug("Current phase before switchTurn: {}", gamePhase);
+        setCurrentPlayer((currentPlayer == players.get(0)) ? players.get(1) : players.get(0));
         currentWorker = null;
         setGamePhase(GamePhase.MOVE);
         setPlayerAction(PlayerAction.MOVE); // Reset action to MOVE at the start of the new turn
-        logAction("Current phase after switchTurn: " + gamePhase);
+        GameLog.debug("Current phase after switchTurn: {}", gamePhase);
         activateGodCardForCurrentPlayer();
+        // A player whose placed workers cannot move loses at the start of their turn
+        if (board.getWorkerCount(playerIndex(currentPlayer)) > 0 && !canPlayerMove(currentPlayer)) {
+            GameLog.info("Player {} cannot move.", currentPlayer.getPlayerID());
+            declareWinner(currentPlayer == players.get(0) ? players.get(1) : players.get(0));
+        }
     }
 
     /**
@@ -359,7 +931,7 @@ public class Game {
         GodCard godCard = godCards.get(currentPlayer);
         if (godCard != null) {
             godCard.activateEffect(this);
-            logAction("Activated effect for " + currentPlayer.getPlayerID());
+            GameLog.debug("Activated effect for {}", currentPlayer.getPlayerID());
         }
     }
 
@@ -377,13 +949,13 @@ public class Game {
      * Ends the game, announcing the winner if there is one.
      */
     private void endGame() {
-        gamePhase = GamePhase.GAME_OVER;
+        setGamePhase(GamePhase.GAME_OVER);
         if (winner != null) {
-            logAction("Game is over. Winner is " + winner.getPlayerID() + ".");
+            GameLog.info("Game is over. Winner is {}.", winner.getPlayerID());
         } else if (checkForTie()) {
-            logAction("Game over due to a tie. No winner.");
+            GameLog.info("Game over due to a tie. No winner.");
         } else {
-            logAction("Game is over. No more legal moves available.");
+            GameLog.info("Game is over. No more legal moves available.");
         }
     }
 
@@ -405,29 +977,25 @@ public class Game {
      */
     private void determineNextWorker() {
         if (allWorkersPlaced()) {
-            gamePhase = GamePhase.PLACE_WORKER;
+            setGamePhase(GamePhase.PLACE_WORKER);
             setGamePhase(GamePhase.MOVE);
             setPlayerAction(PlayerAction.MOVE);
             // Reset currentWorker for the moving phase
-            currentPlayer = players.get(0);
+            setCurrentPlayer(players.get(0));
             currentWorker = null;
             // Activate god card for the first player
             activateGodCardForCurrentPlayer();
         } else {
             // Switch to the next worker or next player's worker
-            switch (currentWorker.getWorkerID()) {
-                case "A1" -> currentWorker = findWorkerById("A2");
-                case "A2" -> {
-                    currentPlayer = findPlayerById("B"); // Assuming a method to find a player by ID
-                    currentWorker = findWorkerById("B1");
-                }
-                case "B1" -> currentWorker = findWorkerById("B2");
-                case "B2" -> {
-                    // All workers placed, prepare for the next phase
-                    currentPlayer = findPlayerById("A"); // Assuming the game starts with player A moving
-                    currentWorker = null; // Reset for the moving phase
-                    setPlayerAction(PlayerAction.MOVE);
-                }
+            int next = slotOf(currentWorker) + 1;
+            if (next < WORKER_SLOTS) {
+                setCurrentPlayer(players.get(next >> 1));
+                currentWorker = getWorker(next);
+            } else {
+                // All workers placed, prepare for the next phase
+                setCurrentPlayer(players.get(0));
+                currentWorker = null; // Reset for the moving phase
+                setPlayerAction(PlayerAction.MOVE);
             }
         }
     }
@@ -449,84 +1017,99 @@ public class Game {
     }
 
     /**
-     * Gets a list of legal moves for a given worker.
+     * Computes the legal move targets of a worker as a cell mask, including god card effects.
+     * This is the allocation-free core of move generation; the list variants are adapters over it.
      *
      * @param worker The worker for which to find legal moves.
-     * @return A list of BoardPosition objects representing legal moves.
+     * @return A mask with one bit set per legal target cell.
      */
-    public List<BoardPosition> calculateLegalMovesForWorker(Worker worker) {
-        List<BoardPosition> legalMoves = new ArrayList<>();
-        BoardPosition currentPos = worker.getPosition();
-        // Check all adjacent positions
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (dx == 0 && dy == 0) continue; // Skip checking the current position
-                int newX = currentPos.getX() + dx;
-                int newY = currentPos.getY() + dy;
-                if (newX >= 0 && newX < 5 && newY >= 0 && newY < 5) {
-                    BoardPosition newPos = new BoardPosition(newX, newY);
-                    if (board.isMoveLegal(worker, currentPos, newPos)) {
-                        legalMoves.add(newPos);
-                    }
-                }
-            }
-        }
+    public long calculateLegalMoveMask(Worker worker) {
+        long legalMoves = board.getBitBoard().moveTargets(board.cellOf(worker.getPosition()));
         GodCard godCard = godCards.get(worker.getOwner());
         if (godCard != null) {
-            legalMoves = godCard.modifyLegalMoves(worker, legalMoves, board);
-        }
-        logAction("LegalMoves are: ");
-        for (BoardPosition pos : legalMoves) {
-            System.out.print(pos + " ");
+            legalMoves = godCard.modifyLegalMoveMask(worker, legalMoves, board);
         }
-        System.out.println();
         return legalMoves;
     }
 
+    /**
+     * Computes the legal build targets of a worker as a cell mask, including god card effects.
+     *
+     * @param worker The worker for which to find legal builds.
+     * @return A mask with one bit set per legal target cell.
+     */
+    public long calculateLegalBuildMask(Worker worker) {
+        long legalBuilds = board.getBitBoard().buildTargets(board.cellOf(worker.getPosition()));
+        GodCard godCard = godCards.get(worker.getOwner());
+        if (godCard != null) {
+            legalBuilds = godCard.modifyLegalBuildMask(worker, legalBuilds, board);
+        }
+        return legalBuilds;
+    }
+
+    /**
+     * Writes the legal move target cells of a worker into a caller-owned buffer.
+     *
+     * @param worker  The worker for which to find legal moves.
+     * @param targets Buffer receiving the target cell indices; 8 entries are always enough.
+     * @return The number of cells written.
+     */
+    public int calculateLegalMovesForWorker(Worker worker, int[] targets) {
+        return BitBoard.toCells(calculateLegalMoveMask(worker), targets);
+    }
+
+    /**
+     * Writes the legal build target cells of a worker into a caller-owned buffer.
+     *
+     * @param worker  The worker for which to find legal builds.
+     * @param targets Buffer receiving the target cell indices; 8 entries are always enough.
+     * @return The number of cells written.
+     */
+    public int calculateLegalBuildsForWorker(Worker worker, int[] targets) {
+        return BitBoard.toCells(calculateLegalBuildMask(worker), targets);
+    }
+
     /**
      * Gets a list of legal moves for a given worker.
      *
      * @param worker The worker for which to find legal moves.
      * @return A list of BoardPosition objects representing legal moves.
      */
+    public List<BoardPosition> calculateLegalMovesForWorker(Worker worker) {
+        List<BoardPosition> legalMoves = board.positionsOf(calculateLegalMoveMask(worker), new ArrayList<>());
+        GameLog.debug("LegalMoves are: {}", legalMoves);
+        return legalMoves;
+    }
+
+    /**
+     * Gets a list of legal builds for a given worker.
+     *
+     * @param worker The worker for which to find legal builds.
+     * @return A list of BoardPosition objects representing legal builds.
+     */
     public List<BoardPosition> calculateLegalBuildsForWorker(Worker worker) {
-        List<BoardPosition> legalBuilds = new ArrayList<>();
-        BoardPosition currentPos = worker.getPosition();
-        // Check adjacent positions for legal build options
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (dx == 0 && dy == 0) continue; // Skip the current position of the worker
-                int newX = currentPos.getX() + dx;
-                int newY = currentPos.getY() + dy;
-                if (newX >= 0 && newX < 5 && newY >= 0 && newY < 5) {
-                    BoardPosition newPos = new BoardPosition(newX, newY);
-                    if (board.isBuildLegal(worker, currentPos, newPos)) {
-                        legalBuilds.add(newPos);
-                    }
-                }
-            }
-        }
-        GodCard godCard = godCards.get(worker.getOwner());
-        if (godCard != null) {
-            legalBuilds = godCard.modifyLegalBuilds(worker, legalBuilds, board);
-        }
-        logAction("LegalBuilds are: ");
-        for (BoardPosition pos : legalBuilds) {
-            System.out.print(pos + " ");
-        }
-        System.out.println();
+        List<BoardPosition> legalBuilds = board.positionsOf(calculateLegalBuildMask(worker), new ArrayList<>());
+        GameLog.debug("LegalBuilds are: {}", legalBuilds);
         return legalBuilds;
     }
 
     /**
      * Checks if the specified player can make any legal move with any of their workers.
+     * Reads the board's cached move counts; god powers only ever add moves, so the full masks are computed
+     * only for a god card holder whose workers have no standard move.
      *
      * @param player The player to check for possible moves.
      * @return true if at least one legal move exists for any of the player's workers, false otherwise.
      */
     private boolean canPlayerMove(Player player) {
+        if (board.getMoveCount(playerIndex(player)) > 0) {
+            return true;
+        }
+        if (godCards.get(player) == null) {
+            return false;
+        }
         for (Worker worker : player.getWorkers()) {
-            if (canWorkerMove(worker)) {
+            if (worker.getPosition() != null && canWorkerMove(worker)) {
                 return true;
             }
         }
@@ -535,19 +1118,51 @@ public class Game {
 
     /**
      * Checks if the specified player can perform any legal build with any of their workers.
+     * Reads the board's cached build counts; god powers only narrow builds during a second build.
      *
      * @param player The player to check for possible builds.
      * @return true if at least one legal build exists for any of the player's workers, false otherwise.
      */
     private boolean canPlayerBuild(Player player) {
+        if (board.getBuildCount(playerIndex(player)) > 0) {
+            return true;
+        }
+        if (godCards.get(player) == null) {
+            return false;
+        }
         for (Worker worker : player.getWorkers()) {
-            if (canWorkerBuild(worker)) {
+            if (worker.getPosition() != null && canWorkerBuild(worker)) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Returns the cells a player's workers can win on with their next move: a climb from level 2 to an unoccupied,
+     * undomed level 3, plus whatever the player's god card adds (Pan's two-level drop).
+     * Read from the board's incremental win-threat index, without generating any turns.
+     *
+     * @param player The player to check.
+     * @return mask of winning move targets, in the board's cell numbering
+     */
+    public long getWinningMoveMask(Player player) {
+        int side = playerIndex(player);
+        long climbs = board.getWinningClimbs(side);
+        GodCard godCard = godCards.get(player);
+        return godCard == null ? climbs : godCard.winningMoveMask(climbs, board.getWinningDrops(side));
+    }
+
+    /**
+     * Checks if a player has a worker that can win with its next move.
+     *
+     * @param player The player to check.
+     * @return true if any of the player's workers has a winning move
+     */
+    public boolean canWinNextMove(Player player) {
+        return getWinningMoveMask(player) != 0;
+    }
+
     /**
      * Checks if the specified worker can make any legal move with any of their workers.
      *
@@ -555,7 +1170,7 @@ public class Game {
      * @return true if this worker can make legal moves
      */
     private boolean canWorkerMove(Worker worker) {
-        return !calculateLegalMovesForWorker(worker).isEmpty();
+        return calculateLegalMoveMask(worker) != 0;
     }
 
     /**
@@ -565,7 +1180,7 @@ public class Game {
      * @return true if this worker can make legal builds
      */
     private boolean canWorkerBuild(Worker worker) {
-        return !calculateLegalBuildsForWorker(worker).isEmpty();
+        return calculateLegalBuildMask(worker) != 0;
     }
 
     /**
@@ -665,44 +1280,34 @@ public class Game {
     }
 
     /**
-     * Finds a player by its unique ID.
+     * Getter for a player by index
      *
-     * @param playerId The ID of the player to find.
-     * @return The Player object if found, null otherwise.
+     * @param index 0 for the first player, 1 for the second
+     * @return the player
      */
-    public Player findPlayerById(String playerId) {
-        for (Player player : players) {
-            if (player.getPlayerID().equals(playerId)) {
-                return player;
-            }
-        }
-        return null; // Worker not found
+    public Player getPlayer(int index) {
+        return players.get(index);
     }
 
     /**
-     * Finds a worker by its unique ID.
+     * Setters for current worker
      *
-     * @param workerId The ID of the worker to find.
-     * @return The Worker object if found, null otherwise.
+     * @param w current worker
      */
-    public Worker findWorkerById(String workerId) {
-        for (Player player : players) {
-            for (Worker worker : player.getWorkers()) {
-                if (worker.getWorkerID().equals(workerId)) {
-                    return worker;
-                }
-            }
-        }
-        return null; // Worker not found
+    public void setCurrentWorker(Worker w) {
+        this.currentWorker = w;
     }
 
     /**
-     * Setters for current worker
+     * Helper method to change the player to move, keeping the Zobrist key in step
      *
-     * @param w current worker
+     * @param player player to move
      */
-    public void setCurrentWorker(Worker w) {
-        this.currentWorker = w;
+    private void setCurrentPlayer(Player player) {
+        if (player != currentPlayer) {
+            stateKey ^= Zobrist.secondPlayerToMove();
+        }
+        currentPlayer = player;
     }
 
     /**
@@ -711,6 +1316,7 @@ public class Game {
      * @param gamePhase current game phase
      */
     public void setGamePhase(GamePhase gamePhase) {
+        stateKey ^= Zobrist.phase(this.gamePhase) ^ Zobrist.phase(gamePhase);
         this.gamePhase = gamePhase;
     }
 
@@ -720,17 +1326,18 @@ public class Game {
      * @param playerAction current player action
      */
     public void setPlayerAction(PlayerAction playerAction) {
+        stateKey ^= Zobrist.action(currentAction) ^ Zobrist.action(playerAction);
         this.currentAction = playerAction;
     }
 
     /**
      * Checks if it is currently not the turn of the specified player.
      *
-     * @param playerID The player to check
+     * @param player The player to check
      * @return true if it is not the player's turn, false otherwise.
      */
-    private boolean isNotPlayerTurn(String playerID) {
-        return !currentPlayer.getPlayerID().equals(playerID);
+    private boolean isNotPlayerTurn(Player player) {
+        return player != currentPlayer;
     }
 
     /**
@@ -742,13 +1349,4 @@ public class Game {
     private boolean isNotCurrentAction(PlayerAction action) {
         return action != currentAction;
     }
-
-    /**
-     * Print action result message for debugging
-     *
-     * @param message message to log in print
-     */
-    private void logAction(String message) {
-        System.out.println(message);
-    }
 }
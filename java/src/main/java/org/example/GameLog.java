@@ -0,0 +1,158 @@
+package org.example;
+
+import java.io.PrintStream;
+
+/**
+ * Leveled logging for the game rules, replacing the direct System.out calls in Game, Board, Tower and the god cards.
+ * Messages are patterns with {@code {}} placeholders that are only filled in when their level is enabled,
+ * so a disabled call costs one field read: no string is concatenated and no argument array is allocated.
+ * Call sites whose arguments are themselves expensive to compute guard the call with {@link #isDebugEnabled()}.
+ * The level defaults to OFF and can be set with the {@code santorini.log} system property or {@link #setLevel}.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class GameLog {
+    /**
+     * Log levels, from quietest to noisiest.
+     */
+    public enum Level {
+        OFF,
+        INFO,
+        DEBUG
+    }
+
+    private static volatile int threshold = parseLevel(System.getProperty("santorini.log")).ordinal();
+    private static volatile PrintStream out = System.out;
+
+    private GameLog() {
+    }
+
+    /**
+     * Sets the most detailed level that is written.
+     *
+     * @param level The new level.
+     */
+    public static void setLevel(Level level) {
+        threshold = level.ordinal();
+    }
+
+    /**
+     * Getter for the current level
+     *
+     * @return current level
+     */
+    public static Level getLevel() {
+        return Level.values()[threshold];
+    }
+
+    /**
+     * Redirects log output, e.g. to a file or a test buffer.
+     *
+     * @param stream The stream to write to.
+     */
+    public static void setOutput(PrintStream stream) {
+        out = stream;
+    }
+
+    /**
+     * Checks if a level is written.
+     *
+     * @param level The level to check.
+     * @return true if messages at that level are written.
+     */
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() <= threshold;
+    }
+
+    /**
+     * Checks if debug messages are written.
+     *
+     * @return true if debug messages are written.
+     */
+    public static boolean isDebugEnabled() {
+        return threshold >= Level.DEBUG.ordinal();
+    }
+
+    public static void info(String message) {
+        if (threshold >= Level.INFO.ordinal()) {
+            write(message, null, null, null);
+        }
+    }
+
+    public static void info(String pattern, Object arg) {
+        if (threshold >= Level.INFO.ordinal()) {
+            write(pattern, arg, null, null);
+        }
+    }
+
+    public static void info(String pattern, Object arg1, Object arg2) {
+        if (threshold >= Level.INFO.ordinal()) {
+            write(pattern, arg1, arg2, null);
+        }
+    }
+
+    public static void debug(String message) {
+        if (threshold >= Level.DEBUG.ordinal()) {
+            write(message, null, null, null);
+        }
+    }
+
+    public static void debug(String pattern, Object arg) {
+        if (threshold >= Level.DEBUG.ordinal()) {
+            write(pattern, arg, null, null);
+        }
+    }
+
+    public static void debug(String pattern, Object arg1, Object arg2) {
+        if (threshold >= Level.DEBUG.ordinal()) {
+            write(pattern, arg1, arg2, null);
+        }
+    }
+
+    public static void debug(String pattern, Object arg1, Object arg2, Object arg3) {
+        if (threshold >= Level.DEBUG.ordinal()) {
+            write(pattern, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * Fills the placeholders of a pattern in order and writes the line.
+     *
+     * @param pattern message pattern
+     * @param arg1    first argument
+     * @param arg2    second argument
+     * @param arg3    third argument
+     */
+    private static void write(String pattern, Object arg1, Object arg2, Object arg3) {
+        StringBuilder line = new StringBuilder(pattern.length() + 32);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while ((placeholder = pattern.indexOf("{}", start)) >= 0) {
+            line.append(pattern, start, placeholder);
+            line.append(argIndex == 0 ? arg1 : argIndex == 1 ? arg2 : arg3);
+            argIndex++;
+            start = placeholder + 2;
+        }
+        line.append(pattern, start, pattern.length());
+        out.println(line);
+    }
+
+    /**
+     * Helper method to read a level name, falling back to OFF
+     *
+     * @param name level name, may be null
+     * @return level
+     */
+    private static Level parseLevel(String name) {
+        if (name != null) {
+            for (Level level : Level.values()) {
+                if (level.name().equalsIgnoreCase(name.trim())) {
+                    return level;
+                }
+            }
+        }
+        return Level.OFF;
+    }
+}
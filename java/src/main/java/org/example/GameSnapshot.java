@@ -0,0 +1,256 @@
+package org.example;
+
+/**
+ * An immutable, complete Santorini position packed into two longs.
+ * The low word holds cells 0-20 and the high word holds cells 21-24 followed by the turn fields:
+ * <pre>
+ * low  bits 0-62   cells 0-20, 3 bits each (0-3 = tower height, 4 = dome)
+ * high bits 0-11   cells 21-24, 3 bits each
+ * high bits 12-31  worker cells, 5 bits per slot (slots 0-1 first player, 2-3 second player; 31 = off board)
+ * high bit  32     side to move
+ * high bits 33-35  game phase
+ * high bits 36-37  player action (0 = none)
+ * high bits 38-40  current worker slot (7 = none)
+ * high bits 41-42  winner (0 = none, otherwise player index + 1)
+ * high bits 43-48  god card id of each player, 3 bits each
+ * high bits 49-53  pending second-build cell of the player to move (31 = none)
+ * </pre>
+ * Snapshots are plain values, so they can be shared between threads, used as map keys and stored as two numbers.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class GameSnapshot {
+    public static final int NO_CELL = 31;
+    public static final int NO_WORKER = 7;
+    static final int DOME = 4;
+    private static final int CELL_BITS = 3;
+    private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+    private static final int LOW_CELLS = 21;
+    private static final int WORKER_BITS = 5;
+    private static final int WORKER_MASK = (1 << WORKER_BITS) - 1;
+
+    private static final int WORKERS_SHIFT = 12;
+    private static final int SIDE_SHIFT = 32;
+    private static final int PHASE_SHIFT = 33;
+    private static final int ACTION_SHIFT = 36;
+    private static final int CURRENT_WORKER_SHIFT = 38;
+    private static final int WINNER_SHIFT = 41;
+    private static final int GOD_SHIFT = 43;
+    private static final int PENDING_BUILD_SHIFT = 49;
+
+    private final long low;
+    private final long high;
+
+    private GameSnapshot(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Rebuilds a snapshot from the two words returned by {@link #getLow()} and {@link #getHigh()}.
+     *
+     * @param low  The low word.
+     * @param high The high word.
+     * @return The snapshot.
+     */
+    public static GameSnapshot of(long low, long high) {
+        return new GameSnapshot(low, high);
+    }
+
+    /**
+     * Packs a position. Used by {@link Game#snapshot()}.
+     *
+     * @param bits          The board planes.
+     * @param workerCells   The four worker cells, 5 bits per slot.
+     * @param side          The index of the player to move.
+     * @param phase         The game phase.
+     * @param action        The player action, or null.
+     * @param currentWorker The current worker slot, or {@link #NO_WORKER}.
+     * @param winner        The winner's index + 1, or 0.
+     * @param god0          The first player's god card id.
+     * @param god1          The second player's god card id.
+     * @param pendingBuild  The pending second-build cell, or {@link #NO_CELL}.
+     * @return The snapshot.
+     */
+    static GameSnapshot pack(BitBoard bits, int workerCells, int side, Game.GamePhase phase, Game.PlayerAction action,
+                             int currentWorker, int winner, int god0, int god1, int pendingBuild) {
+        long low = 0;
+        long high = 0;
+        for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+            long value = bits.hasDome(cell) ? DOME : bits.getHeight(cell);
+            if (cell < LOW_CELLS) {
+                low |= value << (cell * CELL_BITS);
+            } else {
+                high |= value << ((cell - LOW_CELLS) * CELL_BITS);
+            }
+        }
+        high |= (long) workerCells << WORKERS_SHIFT
+                | (long) side << SIDE_SHIFT
+                | (long) phase.ordinal() << PHASE_SHIFT
+                | (long) (action == null ? 0 : action.ordinal() + 1) << ACTION_SHIFT
+                | (long) currentWorker << CURRENT_WORKER_SHIFT
+                | (long) winner << WINNER_SHIFT
+                | (long) god0 << GOD_SHIFT
+                | (long) god1 << (GOD_SHIFT + CELL_BITS)
+                | (long) pendingBuild << PENDING_BUILD_SHIFT;
+        return new GameSnapshot(low, high);
+    }
+
+    /**
+     * Returns the raw value of a cell: its tower height, or {@link #DOME}.
+     *
+     * @param cell The cell index.
+     * @return The cell value.
+     */
+    int cellValue(int cell) {
+        if (cell < LOW_CELLS) {
+            return (int) (low >>> (cell * CELL_BITS)) & CELL_MASK;
+        }
+        return (int) (high >>> ((cell - LOW_CELLS) * CELL_BITS)) & CELL_MASK;
+    }
+
+    /**
+     * Returns the tower height of a cell; a domed cell has height 3.
+     *
+     * @param cell The cell index.
+     * @return The height, from 0 to 3.
+     */
+    public int getHeight(int cell) {
+        return Math.min(cellValue(cell), 3);
+    }
+
+    /**
+     * Checks if a cell carries a dome.
+     *
+     * @param cell The cell index.
+     * @return true if the cell is domed.
+     */
+    public boolean hasDome(int cell) {
+        return cellValue(cell) == DOME;
+    }
+
+    /**
+     * Returns the four worker cells, 5 bits per slot.
+     *
+     * @return The packed worker cells.
+     */
+    int workerCells() {
+        return (int) (high >>> WORKERS_SHIFT) & ((1 << (4 * WORKER_BITS)) - 1);
+    }
+
+    /**
+     * Returns the cell of a worker slot.
+     *
+     * @param slot The slot, 0-1 for the first player and 2-3 for the second.
+     * @return The cell index, or {@link #NO_CELL} if the worker is off the board.
+     */
+    public int getWorkerCell(int slot) {
+        return (int) (high >>> (WORKERS_SHIFT + slot * WORKER_BITS)) & WORKER_MASK;
+    }
+
+    /**
+     * Getter for the index of the player to move
+     *
+     * @return 0 or 1
+     */
+    public int getSideToMove() {
+        return (int) (high >>> SIDE_SHIFT) & 0x1;
+    }
+
+    /**
+     * Getter for the game phase
+     *
+     * @return game phase
+     */
+    public Game.GamePhase getGamePhase() {
+        return Game.GamePhase.values()[(int) (high >>> PHASE_SHIFT) & 0x7];
+    }
+
+    /**
+     * Getter for the player action
+     *
+     * @return player action, or null before the first action
+     */
+    public Game.PlayerAction getPlayerAction() {
+        int action = (int) (high >>> ACTION_SHIFT) & 0x3;
+        return action == 0 ? null : Game.PlayerAction.values()[action - 1];
+    }
+
+    /**
+     * Getter for the current worker slot
+     *
+     * @return worker slot, or {@link #NO_WORKER}
+     */
+    public int getCurrentWorker() {
+        return (int) (high >>> CURRENT_WORKER_SHIFT) & 0x7;
+    }
+
+    /**
+     * Getter for the winner
+     *
+     * @return winner's player index + 1, or 0 if there is no winner
+     */
+    public int getWinner() {
+        return (int) (high >>> WINNER_SHIFT) & 0x3;
+    }
+
+    /**
+     * Getter for a player's god card id, see {@link org.example.godcards.GodCardFactory#idOf}
+     *
+     * @param player player index
+     * @return god card id
+     */
+    public int getGodCard(int player) {
+        return (int) (high >>> (GOD_SHIFT + player * CELL_BITS)) & CELL_MASK;
+    }
+
+    /**
+     * Getter for the cell the player to move built on first, while a second build is pending
+     *
+     * @return cell index, or {@link #NO_CELL}
+     */
+    public int getPendingBuildCell() {
+        return (int) (high >>> PENDING_BUILD_SHIFT) & WORKER_MASK;
+    }
+
+    /**
+     * Getter for the low word, for storage
+     *
+     * @return low word
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Getter for the high word, for storage
+     *
+     * @return high word
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GameSnapshot)) {
+            return false;
+        }
+        GameSnapshot that = (GameSnapshot) o;
+        return low == that.low && high == that.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low * 31 + high);
+    }
+
+    @Override
+    public String toString() {
+        return "GameSnapshot{" + Long.toHexString(low) + ", " + Long.toHexString(high) + "}";
+    }
+}
@@ -2,6 +2,7 @@ package org.example;
 
 import org.example.godcards.GodCard;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -43,11 +44,12 @@ public class GameState {
         json.append(playersJson()); // Including god card details in player's JSON
 
         // Board (Squares)
+        Board board = game.getBoard();
         json.append("\"board\": [");
-        for (int y = 0; y < 5; y++) {
+        for (int y = 0; y < board.getHeight(); y++) {
             json.append("[");
-            for (int x = 0; x < 5; x++) {
-                Square square = game.getBoard().getSquare(new BoardPosition(x, y));
+            for (int x = 0; x < board.getWidth(); x++) {
+                Square square = board.getSquare(BoardPosition.of(x, y));
                 json.append("{");
                 json.append("\"x\": ").append(x).append(",");
                 json.append("\"y\": ").append(y).append(",");
@@ -59,12 +61,12 @@ public class GameState {
                     json.append(",\"ownerID\": \"").append(square.getOccupiedWorker() != null ? square.getOccupiedWorker().getOwnerID() : null).append("\"");
                 }
                 json.append("}");
-                if (x < 4) {
+                if (x < board.getWidth() - 1) {
                     json.append(",");
                 }
             }
             json.append("]");
-            if (y < 4) {
+            if (y < board.getHeight() - 1) {
                 json.append(",");
             }
         }
@@ -91,6 +93,7 @@ public class GameState {
             GodCard godCard = game.getGodCardForPlayer(player);
             String godCardName = godCard != null ? godCard.getName() : "None";
             playerJson.append("\"godCard\": \"").append(godCardName).append("\",");
+            playerJson.append("\"winningMoves\": ").append(getWinningMovesJson(player)).append(",");
 
             playerJson.append("\"workers\": [");
 
@@ -119,6 +122,14 @@ public class GameState {
         return playersJson.toString();
     }
 
+    // Helper method to get the cells a player can win on next move in JSON format
+    private String getWinningMovesJson(Player player) {
+        List<BoardPosition> winningMoves = game.getBoard().positionsOf(game.getWinningMoveMask(player), new ArrayList<>());
+        return winningMoves.stream()
+                .map(move -> String.format("{\"x\": %d, \"y\": %d}", move.getX(), move.getY()))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
     // Helper method to get possible moves in JSON format
     private String getPossibleMovesJson(Worker worker) {
         if (worker == null) {
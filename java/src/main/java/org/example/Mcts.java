@@ -0,0 +1,465 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computer player: Monte Carlo tree search with UCT selection and random playouts, an alternative to
+ * {@link AlphaBeta} that needs no evaluation function, so every god card is handled by the rules alone.
+ * <p>
+ * Each iteration walks down the tree from the root by UCT, expands the node it reaches once it has been visited
+ * before, plays random turns from there to the end of the game and credits the result to every node on the path.
+ * Turns are played and taken back with {@link Game#makeTurn(int)} / {@link Game#unmakeTurn()} on a
+ * {@link Game#fork() fork} per thread, into buffers allocated once per thread, so a playout allocates nothing.
+ * A winning turn, whenever one exists, is the only one considered, both in the tree and in playouts.
+ * <p>
+ * The tree lives in a {@link NodeArena} of primitive arrays allocated with the engine and reused by every search,
+ * so long searches create no garbage and the tree can never outgrow its memory budget; once the arena is full the
+ * search goes on with the nodes it has. An engine runs one search at a time.
+ * <p>
+ * With several threads the search runs both kinds of parallelism: threads are dealt round-robin to a number of
+ * independent trees (root parallelism), and threads sharing a tree count a visit on every node as they pass it,
+ * before the playout result is known (virtual loss), so they spread over different lines. The answer is the root
+ * turn with the most visits summed over all trees.
+ * <p>
+ * Usage: {@code java -cp target/classes org.example.Mcts [budgetMillis] [godA] [godB] [--threads N] [--trees T]
+ * [--tree MB]} searches the perft opening and prints the playout rate and tree size.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class Mcts {
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+    public static final int DEFAULT_TREE_MEGABYTES = 64;
+    private static final double EXPLORATION = 1.4;
+    private static final int MAX_PLAYOUT_TURNS = 256; // A playout that reaches this is scored as a draw
+    private static final int MAX_TREE_DEPTH = 256;
+    static final int WIN_REWARD = 2;
+    private static final int DRAW_REWARD = 1;
+
+    /**
+     * Outcome of a search: the most visited root turn and how often the search won after it.
+     */
+    public static final class Result {
+        private final int turn;
+        private final long visits;
+        private final double winRate;
+        private final long playouts;
+        private final int nodes;
+        private final long nanos;
+
+        Result(int turn, long visits, double winRate, long playouts, int nodes, long nanos) {
+            this.turn = turn;
+            this.visits = visits;
+            this.winRate = winRate;
+            this.playouts = playouts;
+            this.nodes = nodes;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Getter for the best turn
+         *
+         * @return encoded turn, see {@link Turn}, or {@link AlphaBeta#NO_TURN} if the side to move has none
+         */
+        public int getTurn() {
+            return turn;
+        }
+
+        public long getVisits() {
+            return visits;
+        }
+
+        /**
+         * Getter for the share of playouts after the best turn that the mover won, draws counting half
+         *
+         * @return win rate from 0 to 1
+         */
+        public double getWinRate() {
+            return winRate;
+        }
+
+        public long getPlayouts() {
+            return playouts;
+        }
+
+        /**
+         * Getter for the size of the tree the search built
+         *
+         * @return nodes in all trees
+         */
+        public int getNodes() {
+            return nodes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    private final long seed;
+    private final NodeArena arena;
+    private int[] roots = new int[0]; // Roots of the last search, one per tree
+
+    /**
+     * Creates an engine seeded from the clock, with a {@link #DEFAULT_TREE_MEGABYTES} tree.
+     */
+    public Mcts() {
+        this(System.nanoTime(), DEFAULT_TREE_MEGABYTES);
+    }
+
+    /**
+     * Creates an engine whose single-threaded searches are repeatable.
+     *
+     * @param seed      The seed of the playout random numbers.
+     * @param megabytes The memory for the tree, from 1 to 4096, allocated now.
+     */
+    public Mcts(long seed, int megabytes) {
+        this.seed = seed;
+        this.arena = new NodeArena(megabytes);
+    }
+
+    /**
+     * Searches for the best turn of the player to move on the calling thread.
+     *
+     * @param game         The game to search; its current phase must be MOVE. It is returned to its position.
+     * @param budgetMillis The time budget in milliseconds.
+     * @return The best turn found and how it was found.
+     */
+    public Result search(Game game, long budgetMillis) {
+        return search(game, budgetMillis, Long.MAX_VALUE, 1, 1);
+    }
+
+    /**
+     * Searches for the best turn of the player to move until the time budget or the playout limit is used up.
+     * Each thread searches its own fork of the game; with one thread the game itself is searched.
+     *
+     * @param game         The game to search; its current phase must be MOVE. It is returned to its position.
+     * @param budgetMillis The time budget in milliseconds.
+     * @param maxPlayouts  The playout limit, shared evenly by the threads.
+     * @param threads      The number of threads, at least 1.
+     * @param trees        The number of independent trees, from 1 to the number of threads.
+     * @return The best turn found and how it was found.
+     */
+    public synchronized Result search(Game game, long budgetMillis, long maxPlayouts, int threads, int trees) {
+        if (threads < 1 || trees < 1 || trees > threads) {
+            throw new IllegalArgumentException("Need at least one thread per tree, got " + threads + " threads for "
+                    + trees + " trees.");
+        }
+        long start = System.nanoTime();
+        long deadline = start + budgetMillis * 1_000_000L;
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] buffer = new int[TurnGenerator.MAX_TURNS];
+        arena.clear();
+        roots = new int[trees];
+        for (int i = 0; i < trees; i++) {
+            roots[i] = arena.allocateRoot();
+            if (roots[i] < 0 || !expand(arena, roots[i], game, buffer)) {
+                throw new IllegalStateException("The tree is too small to hold " + trees + " roots.");
+            }
+        }
+        if (arena.childCount(roots[0]) == 0) {
+            return new Result(AlphaBeta.NO_TURN, 0, 0, 0, arena.size(), System.nanoTime() - start);
+        }
+        long perThread = Math.max(1, maxPlayouts / threads);
+        long playouts;
+        if (threads == 1) {
+            playouts = new Searcher(arena, game, roots[0], random).run(deadline, perThread);
+        } else {
+            playouts = 0;
+            List<Future<Long>> futures = new ArrayList<>();
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                for (int i = 0; i < threads; i++) {
+                    Searcher searcher = new Searcher(arena, game.fork(), roots[i % trees], random.split());
+                    futures.add(pool.submit(() -> searcher.run(deadline, perThread)));
+                }
+                for (Future<Long> future : futures) {
+                    playouts += future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Search was interrupted.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search failed.", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        return bestOf(roots, playouts, System.nanoTime() - start);
+    }
+
+    /**
+     * Reads how many iterations one tree of the last search ran.
+     *
+     * @param tree The index of the tree.
+     * @return Visits of its root.
+     */
+    synchronized int treeVisits(int tree) {
+        return arena.visits(roots[tree]);
+    }
+
+    /**
+     * Reads how often one tree of the last search visited a root turn.
+     *
+     * @param tree The index of the tree.
+     * @param turn The root turn.
+     * @return Visits of the child for the turn, or 0 if the tree has none.
+     */
+    synchronized int rootVisits(int tree, int turn) {
+        int first = arena.firstChild(roots[tree]);
+        for (int child = first; child < first + arena.childCount(roots[tree]); child++) {
+            if (arena.turn(child) == turn) {
+                return arena.visits(child);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Helper method to pick the root turn with the most visits summed over all trees
+     *
+     * @param roots    roots of the trees, all expanded from the same position
+     * @param playouts playouts run by all threads
+     * @param nanos    time taken
+     * @return the search result
+     */
+    private Result bestOf(int[] roots, long playouts, long nanos) {
+        int count = arena.childCount(roots[0]);
+        int best = 0;
+        long bestVisits = -1;
+        long bestReward = 0;
+        for (int i = 0; i < count; i++) {
+            long visits = 0;
+            long reward = 0;
+            for (int root : roots) {
+                int child = arena.firstChild(root) + i; // Same position, so every tree lists the turns in the same order
+                visits += arena.visits(child);
+                reward += arena.reward(child);
+            }
+            if (visits > bestVisits) {
+                best = i;
+                bestVisits = visits;
+                bestReward = reward;
+            }
+        }
+        double winRate = bestVisits == 0 ? 0 : (double) bestReward / (WIN_REWARD * bestVisits);
+        return new Result(arena.turn(arena.firstChild(roots[0]) + best), bestVisits, winRate, playouts, arena.size(),
+                nanos);
+    }
+
+    /**
+     * Helper method to give a node one child per turn from its position, or only the winning turn if there is one
+     *
+     * @param arena  tree storage
+     * @param node   node to expand
+     * @param game   game at the node's position
+     * @param buffer turn buffer
+     * @return true if this call expanded the node; false if another thread is expanding it or the arena is full
+     */
+    private static boolean expand(NodeArena arena, int node, Game game, int[] buffer) {
+        int count = game.generateTurns(buffer);
+        int win = winningTurn(buffer, count);
+        if (win >= 0) {
+            buffer[0] = buffer[win];
+            count = 1;
+        }
+        return arena.expand(node, buffer, count);
+    }
+
+    /**
+     * Helper method to find a winning turn
+     *
+     * @param turns turns to look through
+     * @param count number of turns
+     * @return index of the first winning turn, or -1
+     */
+    private static int winningTurn(int[] turns, int count) {
+        for (int i = 0; i < count; i++) {
+            if (Turn.isWin(turns[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Helper method to choose a child by UCT; an unvisited child is always tried first, and a
+     * visit still waiting for its playout counts as a loss
+     *
+     * @param arena  tree storage
+     * @param parent node being left
+     * @param first  its first child
+     * @param count  its number of children
+     * @return chosen child
+     */
+    static int select(NodeArena arena, int parent, int first, int count) {
+        double logVisits = Math.log(Math.max(1, arena.visits(parent)));
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < first + count; child++) {
+            int visits = arena.visits(child);
+            if (visits == 0) {
+                return child;
+            }
+            double value = (double) arena.reward(child) / (WIN_REWARD * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+            if (value > bestValue) {
+                best = child;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * One search thread: its own game and buffers, walking a tree that other searchers may share.
+     */
+    private static final class Searcher {
+        private final NodeArena arena;
+        private final Game game;
+        private final int root;
+        private final SplittableRandom random;
+        private final int[] buffer = new int[TurnGenerator.MAX_TURNS];
+        private final int[] path = new int[MAX_TREE_DEPTH + 1];
+        private final String firstPlayerId;
+
+        Searcher(NodeArena arena, Game game, int root, SplittableRandom random) {
+            this.arena = arena;
+            this.game = game;
+            this.root = root;
+            this.random = random;
+            this.firstPlayerId = game.getPlayer(0).getPlayerID();
+        }
+
+        /**
+         * Runs iterations until the deadline or the playout limit.
+         *
+         * @param deadline    System.nanoTime() to stop at
+         * @param maxPlayouts playout limit for this thread
+         * @return playouts run
+         */
+        long run(long deadline, long maxPlayouts) {
+            long playouts = 0;
+            while (playouts < maxPlayouts) {
+                if ((playouts & 0xF) == 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+                iterate();
+                playouts++;
+            }
+            return playouts;
+        }
+
+        /**
+         * Helper method for one iteration: select, expand, play out and credit the result
+         */
+        private void iterate() {
+            int node = root;
+            arena.visit(root);
+            int depth = 0;
+            path[depth++] = root;
+            while (game.getGamePhase() != Game.GamePhase.GAME_OVER && depth < MAX_TREE_DEPTH) {
+                int first = arena.firstChild(node);
+                if (first < 0) {
+                    // Expand on the second visit, so single-visit leaves cost no children
+                    if (arena.visits(node) < 2 || !expand(arena, node, game, buffer)) {
+                        break;
+                    }
+                    first = arena.firstChild(node);
+                }
+                int count = arena.childCount(node);
+                if (count == 0) {
+                    break;
+                }
+                node = select(arena, node, first, count);
+                arena.visit(node); // Counted before the result is known: the virtual loss that steers other threads away
+                int turn = arena.turn(node);
+                if (!game.makeTurn(turn)) {
+                    throw new IllegalStateException("Generated turn was rejected by the rules: " + Turn.toString(turn));
+                }
+                path[depth++] = node;
+            }
+            int winner = playout();
+            for (int i = 1; i < depth; i++) {
+                int mover = Turn.workerSlot(arena.turn(path[i])) >> 1;
+                if (winner == mover) {
+                    arena.credit(path[i], WIN_REWARD);
+                } else if (winner < 0) {
+                    arena.credit(path[i], DRAW_REWARD);
+                }
+            }
+            for (int i = 1; i < depth; i++) {
+                game.unmakeTurn();
+            }
+        }
+
+        /**
+         * Helper method to play random turns, a winning one whenever possible, to the end of the game and take
+         * them back
+         *
+         * @return side that won, or -1 for a draw
+         */
+        private int playout() {
+            int played = 0;
+            int winner;
+            while (true) {
+                if (game.getGamePhase() == Game.GamePhase.GAME_OVER) {
+                    String winnerId = game.getWinnerID();
+                    winner = winnerId == null ? -1 : winnerId.equals(firstPlayerId) ? 0 : 1;
+                    break;
+                }
+                if (played == MAX_PLAYOUT_TURNS) {
+                    winner = -1;
+                    break;
+                }
+                int count = game.generateTurns(buffer);
+                if (count == 0) {
+                    winner = 1 - game.playerIndex(game.getCurrentPlayer()); // A player who cannot complete a turn loses
+                    break;
+                }
+                int win = winningTurn(buffer, count);
+                int turn = buffer[win >= 0 ? win : random.nextInt(count)];
+                if (!game.makeTurn(turn)) {
+                    throw new IllegalStateException("Generated turn was rejected by the rules: " + Turn.toString(turn));
+                }
+                played++;
+            }
+            for (int i = 0; i < played; i++) {
+                game.unmakeTurn();
+            }
+            return winner;
+        }
+    }
+
+    public static void main(String[] args) {
+        List<String> positional = new ArrayList<>();
+        int threads = 1;
+        int trees = 1;
+        int megabytes = DEFAULT_TREE_MEGABYTES;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--threads")) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--trees")) {
+                trees = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--tree")) {
+                megabytes = Integer.parseInt(args[++i]);
+            } else {
+                positional.add(args[i]);
+            }
+        }
+        long budget = positional.size() > 0 ? Long.parseLong(positional.get(0)) : DEFAULT_BUDGET_MILLIS;
+        Game game = Perft.gameAt(Perft.opening(positional.size() > 1 ? positional.get(1) : "None",
+                positional.size() > 2 ? positional.get(2) : "None"));
+        Mcts engine = new Mcts(System.nanoTime(), megabytes);
+        engine.search(game, 2000); // Warm up the JIT
+        Result result = engine.search(game, budget, Long.MAX_VALUE, threads, trees);
+        System.out.printf("%s: %d visits, win rate %.3f, %d playouts in %.1f ms (%.0f playouts/s), %d nodes%n",
+                Turn.toString(result.getTurn()), result.getVisits(), result.getWinRate(), result.getPlayouts(),
+                result.getNanos() / 1e6, result.getPlayouts() / (result.getNanos() / 1e9), result.getNodes());
+    }
+}
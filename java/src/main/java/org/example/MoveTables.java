@@ -0,0 +1,228 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cell numbering and precomputed adjacency tables for one board size, built once per size and shared.
+ * Cell (x, y) of a board {@code width} columns wide is cell {@code y * width + x}, so a board of up to 64 cells
+ * fits in a long mask. For every cell the tables hold its neighbour mask, its neighbour cells in a fixed scan order,
+ * the neighbour in each of the eight directions, and the cell behind every neighbour
+ * (the square an opponent is pushed to when a worker moves into it).
+ * Move generators and god cards read these tables instead of looping over dx/dy with bounds checks.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class MoveTables {
+    public static final int DIRECTIONS = 8;
+    public static final int NONE = -1;
+    public static final int MAX_CELLS = Long.SIZE;
+    private static final int[] DX = {-1, -1, -1, 0, 0, 1, 1, 1};
+    private static final int[] DY = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final ConcurrentHashMap<Integer, MoveTables> SIZES = new ConcurrentHashMap<>();
+
+    /**
+     * Tables of the standard 5x5 board.
+     */
+    public static final MoveTables STANDARD = of(BitBoard.SIZE, BitBoard.SIZE);
+
+    private final int width;
+    private final int height;
+    private final int cells;
+    private final long allCells;
+    private final long[] neighbourMasks;
+    private final int[][] neighbourCells;
+    private final int[][] step;
+    private final int[][] pushTarget;
+    private final BoardPosition[] positions;
+
+    /**
+     * Builds the tables of one board size.
+     *
+     * @param width  number of columns
+     * @param height number of rows
+     */
+    private MoveTables(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cells = width * height;
+        this.allCells = cells == MAX_CELLS ? -1L : (1L << cells) - 1;
+        this.neighbourMasks = new long[cells];
+        this.neighbourCells = new int[cells][];
+        this.step = new int[cells][DIRECTIONS];
+        this.pushTarget = new int[cells][cells];
+        this.positions = new BoardPosition[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            positions[cell] = BoardPosition.of(xOf(cell), yOf(cell));
+            int count = 0;
+            int[] around = new int[DIRECTIONS];
+            for (int d = 0; d < DIRECTIONS; d++) {
+                step[cell][d] = step(cell, d);
+                if (step[cell][d] != NONE) {
+                    neighbourMasks[cell] |= 1L << step[cell][d];
+                    around[count++] = step[cell][d];
+                }
+            }
+            neighbourCells[cell] = Arrays.copyOf(around, count);
+        }
+        for (int from = 0; from < cells; from++) {
+            Arrays.fill(pushTarget[from], NONE);
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int to = step[from][d];
+                if (to != NONE) {
+                    pushTarget[from][to] = step[to][d];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared tables of a board size.
+     *
+     * @param width  number of columns, at least 2
+     * @param height number of rows, at least 2
+     * @return tables of that size
+     * @throws IllegalArgumentException if a side is shorter than 2 or the board has more than {@link #MAX_CELLS} cells
+     */
+    public static MoveTables of(int width, int height) {
+        if (width < 2 || height < 2 || width > MAX_CELLS / height) { // Divides, so huge sides cannot overflow
+            throw new IllegalArgumentException("Board must be at least 2x2 and at most " + MAX_CELLS + " cells: "
+                    + width + "x" + height);
+        }
+        return SIZES.computeIfAbsent(width << 8 | height, key -> new MoveTables(width, height));
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Getter for the number of cells
+     *
+     * @return width * height
+     */
+    public int getCells() {
+        return cells;
+    }
+
+    /**
+     * Returns the mask with the bit of every cell on the board set.
+     *
+     * @return The full-board mask.
+     */
+    public long allCells() {
+        return allCells;
+    }
+
+    /**
+     * Checks if coordinates fall on the board.
+     *
+     * @param x The x coordinate (column).
+     * @param y The y coordinate (row).
+     * @return true if (x, y) is on the board.
+     */
+    public boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Converts board coordinates to a cell index.
+     *
+     * @param x The x coordinate (column).
+     * @param y The y coordinate (row).
+     * @return The index of the cell.
+     */
+    public int indexOf(int x, int y) {
+        return y * width + x;
+    }
+
+    public int xOf(int cell) {
+        return cell % width;
+    }
+
+    public int yOf(int cell) {
+        return cell / width;
+    }
+
+    /**
+     * Converts a position to its cell index on this board.
+     *
+     * @param position The position.
+     * @return The cell index, or {@link #NONE} if the position is off the board.
+     */
+    public int cellOf(BoardPosition position) {
+        return contains(position.getX(), position.getY()) ? indexOf(position.getX(), position.getY()) : NONE;
+    }
+
+    /**
+     * Returns the shared position of a cell.
+     *
+     * @param cell The cell index.
+     * @return The position of that cell.
+     */
+    public BoardPosition positionOf(int cell) {
+        return positions[cell];
+    }
+
+    /**
+     * Returns the mask of cells adjacent to a cell, including diagonals.
+     *
+     * @param cell The cell index.
+     * @return The neighbour mask.
+     */
+    public long neighbourMask(int cell) {
+        return neighbourMasks[cell];
+    }
+
+    /**
+     * Returns the cells adjacent to a cell, scanned column by column from the top-left neighbour.
+     * The returned array is shared and must not be modified.
+     *
+     * @param cell The cell index.
+     * @return The neighbour cell indices.
+     */
+    public int[] neighbourCells(int cell) {
+        return neighbourCells[cell];
+    }
+
+    /**
+     * Returns the neighbour of a cell in one of the eight directions.
+     *
+     * @param cell      The cell index.
+     * @param direction The direction, from 0 to 7.
+     * @return The neighbour cell index, or {@link #NONE} if it falls off the board.
+     */
+    public int neighbour(int cell, int direction) {
+        return step[cell][direction];
+    }
+
+    /**
+     * Returns the cell directly behind {@code to} when seen from {@code from}.
+     * This is where Minotaur pushes an opponent standing on {@code to}.
+     *
+     * @param from The cell of the moving worker.
+     * @param to   The adjacent cell being moved into.
+     * @return The cell behind, or {@link #NONE} if the cells are not adjacent or the cell behind is off the board.
+     */
+    public int pushTarget(int from, int to) {
+        return pushTarget[from][to];
+    }
+
+    /**
+     * Computes one step from a cell in a direction, with bounds checking. Only used to fill the tables.
+     *
+     * @param cell      The cell index.
+     * @param direction The direction, from 0 to 7.
+     * @return The neighbour cell index, or {@link #NONE} if it falls off the board.
+     */
+    private int step(int cell, int direction) {
+        int x = xOf(cell) + DX[direction];
+        int y = yOf(cell) + DY[direction];
+        return contains(x, y) ? indexOf(x, y) : NONE;
+    }
+}
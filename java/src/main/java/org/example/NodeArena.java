@@ -0,0 +1,178 @@
+package org.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preallocated storage for the {@link Mcts} tree: one primitive array per node field, indexed by an int handle,
+ * so a tree of millions of nodes is a handful of objects the garbage collector never has to trace.
+ * The children of a node are allocated together and stored as a range: the handle of the first child and a count.
+ * Nodes are handed out by bumping a shared counter, never freed one by one, and {@link #clear()} drops the whole
+ * tree in constant time before the next search.
+ * <p>
+ * Several threads may grow and update one arena. Visits and rewards are added atomically; a node is expanded by
+ * the one thread that moves its first-child field from {@code UNEXPANDED} to {@code EXPANDING}, and the finished
+ * range is published with a release write. When the arena is full, nodes simply stay leaves.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+final class NodeArena {
+    private static final int UNEXPANDED = -1;
+    private static final int EXPANDING = -2;
+    private static final int BYTES_PER_NODE = 4 + 4 + 2 + 4 + 4; // turn, first child, child count, visits, reward
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int[] turns;
+    private final int[] firstChildren;
+    private final short[] childCounts;
+    private final int[] visits;
+    private final int[] rewards;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Allocates an empty arena.
+     *
+     * @param megabytes The memory to use, from 1 to 4096.
+     */
+    NodeArena(int megabytes) {
+        if (megabytes < 1 || megabytes > 4096) {
+            throw new IllegalArgumentException("Tree size must be between 1 and 4096 MB, got " + megabytes);
+        }
+        int capacity = (int) ((long) megabytes * (1 << 20) / BYTES_PER_NODE);
+        this.turns = new int[capacity];
+        this.firstChildren = new int[capacity];
+        this.childCounts = new short[capacity];
+        this.visits = new int[capacity];
+        this.rewards = new int[capacity];
+    }
+
+    /**
+     * Drops every node.
+     */
+    void clear() {
+        size.set(0);
+    }
+
+    int getCapacity() {
+        return turns.length;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Allocates an unexpanded node with no turn, to be the root of a tree.
+     *
+     * @return The handle, or -1 if the arena is full.
+     */
+    int allocateRoot() {
+        int handle = allocate(1);
+        if (handle >= 0) {
+            reset(handle, AlphaBeta.NO_TURN);
+        }
+        return handle;
+    }
+
+    /**
+     * Gives a node its children, one per turn, unless another thread is already expanding it or the arena is full.
+     *
+     * @param node  The node to expand.
+     * @param moves The turns that lead to the children.
+     * @param count The number of turns, up to {@link Short#MAX_VALUE}; 0 marks the node as expanded without children.
+     * @return true if this call expanded the node.
+     */
+    boolean expand(int node, int[] moves, int count) {
+        if (count > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("A node can have at most " + Short.MAX_VALUE + " children, got " + count);
+        }
+        if (!INTS.compareAndSet(firstChildren, node, UNEXPANDED, EXPANDING)) {
+            return false;
+        }
+        int first = allocate(count);
+        if (first < 0) {
+            INTS.setRelease(firstChildren, node, UNEXPANDED);
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            reset(first + i, moves[i]);
+        }
+        childCounts[node] = (short) count;
+        INTS.setRelease(firstChildren, node, first);
+        return true;
+    }
+
+    /**
+     * Reads the first child of a node.
+     *
+     * @param node The node.
+     * @return The handle of its first child, or a negative value while the node is not expanded.
+     */
+    int firstChild(int node) {
+        return (int) INTS.getAcquire(firstChildren, node);
+    }
+
+    /**
+     * Reads how many children a node has; only meaningful once {@link #firstChild(int)} is not negative.
+     *
+     * @param node The node.
+     * @return The number of children.
+     */
+    int childCount(int node) {
+        return childCounts[node];
+    }
+
+    int turn(int node) {
+        return turns[node];
+    }
+
+    int visits(int node) {
+        return visits[node];
+    }
+
+    int reward(int node) {
+        return rewards[node];
+    }
+
+    void visit(int node) {
+        INTS.getAndAdd(visits, node, 1);
+    }
+
+    void credit(int node, int amount) {
+        INTS.getAndAdd(rewards, node, amount);
+    }
+
+    /**
+     * Helper method to take a range of handles from the free space
+     *
+     * @param count number of nodes
+     * @return handle of the first, or -1 if they do not fit
+     */
+    private int allocate(int count) {
+        while (true) {
+            int start = size.get();
+            if (start + count > turns.length) {
+                return -1;
+            }
+            if (size.compareAndSet(start, start + count)) {
+                return start;
+            }
+        }
+    }
+
+    /**
+     * Helper method to initialise a freshly allocated node
+     *
+     * @param node handle
+     * @param turn turn that leads to it
+     */
+    private void reset(int node, int turn) {
+        turns[node] = turn;
+        firstChildren[node] = UNEXPANDED;
+        childCounts[node] = 0;
+        visits[node] = 0;
+        rewards[node] = 0;
+    }
+}
@@ -0,0 +1,226 @@
+package org.example;
+
+import org.example.godcards.GodCardFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Perft: counts the turn sequences of a given length reachable from a position, playing every turn through the
+ * regular {@link Game} and god card rules. The counts are a regression oracle for the move and build rules and
+ * the timing gives one throughput number for the rules engine.
+ * A game that ends before the requested depth contributes no leaves, as in chess perft.
+ * <p>
+ * Usage: {@code java -cp target/classes org.example.Perft <depth> [godA] [godB] [--divide] [--threads N]
+ * [--position LOW:HIGH]}, where the position is a {@link GameSnapshot} given as two hex words;
+ * without one the search starts from {@link #opening(String, String)}.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class Perft {
+
+    /**
+     * Outcome of a perft run: the root turns, the leaf count under each of them, and the elapsed time.
+     */
+    public static final class Result {
+        private final int[] rootTurns;
+        private final long[] counts;
+        private final long nanos;
+
+        Result(int[] rootTurns, long[] counts, long nanos) {
+            this.rootTurns = rootTurns;
+            this.counts = counts;
+            this.nanos = nanos;
+        }
+
+        public int[] getRootTurns() {
+            return rootTurns;
+        }
+
+        public long[] getCounts() {
+            return counts;
+        }
+
+        public long getNodes() {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getNodesPerSecond() {
+            return nanos == 0 ? 0 : getNodes() * 1e9 / nanos;
+        }
+    }
+
+    private Perft() {
+    }
+
+    /**
+     * Counts the leaves at a depth below the current position of a game. The game is returned to its starting state.
+     *
+     * @param game  The game to search; its current phase must be MOVE.
+     * @param depth The number of turns to play.
+     * @return The number of turn sequences of that length.
+     */
+    public static long perft(Game game, int depth) {
+        return perft(game, depth, new int[Math.max(depth, 1)][TurnGenerator.MAX_TURNS]);
+    }
+
+    private static long perft(Game game, int depth, int[][] buffers) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] turns = buffers[depth - 1];
+        int count = game.generateTurns(turns);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            if (!game.makeTurn(turns[i])) {
+                throw new IllegalStateException("Generated turn was rejected by the rules: " + Turn.toString(turns[i]));
+            }
+            nodes += perft(game, depth - 1, buffers);
+            game.unmakeTurn();
+        }
+        return nodes;
+    }
+
+    /**
+     * Runs perft from a position, splitting the count by root turn. With more than one thread each root turn
+     * is searched on its own game restored from the snapshot.
+     *
+     * @param position The starting position.
+     * @param depth    The number of turns to play, at least 1.
+     * @param threads  The number of worker threads.
+     * @return The per-root-turn counts and timing.
+     */
+    public static Result divide(GameSnapshot position, int depth, int threads) {
+        long start = System.nanoTime();
+        Game root = gameAt(position);
+        int[] buffer = new int[TurnGenerator.MAX_TURNS];
+        int[] rootTurns = Arrays.copyOf(buffer, root.generateTurns(buffer));
+        long[] counts = new long[rootTurns.length];
+        if (threads <= 1) {
+            for (int i = 0; i < rootTurns.length; i++) {
+                counts[i] = countBelow(root, rootTurns[i], depth);
+            }
+            return new Result(rootTurns, counts, System.nanoTime() - start);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            ThreadLocal<Game> games = ThreadLocal.withInitial(() -> gameAt(position));
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int turn : rootTurns) {
+                futures.add(pool.submit(() -> countBelow(games.get(), turn, depth)));
+            }
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = futures.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Perft was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(rootTurns, counts, System.nanoTime() - start);
+    }
+
+    /**
+     * Helper method to count the leaves under one root turn
+     *
+     * @param game  game at the root position
+     * @param turn  root turn
+     * @param depth perft depth including the root turn
+     * @return leaves under the turn
+     */
+    private static long countBelow(Game game, int turn, int depth) {
+        if (!game.makeTurn(turn)) {
+            throw new IllegalStateException("Generated turn was rejected by the rules: " + Turn.toString(turn));
+        }
+        long nodes = perft(game, depth - 1);
+        game.unmakeTurn();
+        return nodes;
+    }
+
+    /**
+     * Creates a fresh game at a position.
+     *
+     * @param position snapshot of the position
+     * @return game restored to the position
+     */
+    public static Game gameAt(GameSnapshot position) {
+        Game game = new Game(new Player("A"), new Player("B"));
+        game.restore(position);
+        return game;
+    }
+
+    /**
+     * The standard perft opening: both god cards chosen, A's workers on (1, 1) and (3, 3), B's on (1, 3) and (3, 1),
+     * and A to move.
+     *
+     * @param godCardA god card name for player A, or "None"
+     * @param godCardB god card name for player B, or "None"
+     * @return snapshot of the opening
+     */
+    public static GameSnapshot opening(String godCardA, String godCardB) {
+        Player playerA = new Player("A");
+        Player playerB = new Player("B");
+        Game game = new Game(playerA, playerB);
+        game.getGodCards().put(playerA, GodCardFactory.createGodCard(godCardA));
+        game.getGodCards().put(playerB, GodCardFactory.createGodCard(godCardB));
+        game.placeWorker(playerA.getWorkers().get(0), BoardPosition.of(1, 1));
+        game.placeWorker(playerA.getWorkers().get(1), BoardPosition.of(3, 3));
+        game.placeWorker(playerB.getWorkers().get(0), BoardPosition.of(1, 3));
+        game.placeWorker(playerB.getWorkers().get(1), BoardPosition.of(3, 1));
+        return game.snapshot();
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: Perft <depth> [godA] [godB] [--divide] [--threads N] [--position LOW:HIGH]");
+            return;
+        }
+        int depth = Integer.parseInt(args[0]);
+        List<String> gods = new ArrayList<>();
+        boolean showDivide = false;
+        int threads = 1;
+        GameSnapshot position = null;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--divide" -> showDivide = true;
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--position" -> {
+                    String[] words = args[++i].split(":");
+                    position = GameSnapshot.of(Long.parseUnsignedLong(words[0], 16), Long.parseUnsignedLong(words[1], 16));
+                }
+                default -> gods.add(args[i]);
+            }
+        }
+        if (position == null) {
+            position = opening(gods.size() > 0 ? gods.get(0) : "None", gods.size() > 1 ? gods.get(1) : "None");
+        }
+        Result result = divide(position, depth, threads);
+        if (showDivide) {
+            for (int i = 0; i < result.getRootTurns().length; i++) {
+                System.out.println(Turn.toString(result.getRootTurns()[i]) + ": " + result.getCounts()[i]);
+            }
+        }
+        System.out.printf("depth %d: %d nodes in %.3f s, %.0f nodes/s (%d thread%s)%n", depth, result.getNodes(),
+                result.getNanos() / 1e9, result.getNodesPerSecond(), threads, threads == 1 ? "" : "s");
+    }
+}
@@ -15,6 +15,8 @@ public class Player {
     private final String playerID;
     private List<Worker> workers = new ArrayList<>();
     private static final int NUM_WORKERS = 2;
+    public static final int NO_INDEX = -1;
+    private int index = NO_INDEX; // Seat in the game: 0 for the first player, 1 for the second
 
     /**
      * Constructs a Player with a specified player ID and initializes two workers for this player.
@@ -24,11 +26,31 @@ public class Player {
     public Player(String playerID) {
         this.playerID = playerID;
         for (int i = 0; i < NUM_WORKERS; ++i) {
-            workers.add(new Worker(playerID + (i + 1), this));
+            workers.add(new Worker(playerID + (i + 1), this, i));
         }
         this.workers = Collections.unmodifiableList(workers);
     }
 
+    /**
+     * Constructs a copy of a player for a forked game: same ID and worker IDs, with new workers.
+     *
+     * @param source The player to copy.
+     */
+    Player(Player source) {
+        this.playerID = source.playerID;
+        this.workers = List.of(new Worker(source.workerIdAt(0), this, 0), new Worker(source.workerIdAt(1), this, 1));
+    }
+
+    /**
+     * Helper method to get the ID of one of the player's workers, or its default ID if there is none
+     *
+     * @param number worker number, 0 or 1
+     * @return worker ID
+     */
+    private String workerIdAt(int number) {
+        return number < workers.size() ? workers.get(number).getWorkerID() : playerID + (number + 1);
+    }
+
     /**
      * Sets the list of workers controlled by this player. This method can be used to update the player's workers,
      * though typically the initial set of workers is sufficient for gameplay.
@@ -48,6 +70,24 @@ public class Player {
         return playerID;
     }
 
+    /**
+     * Retrieves the player's seat in the game it was added to.
+     *
+     * @return 0 for the first player, 1 for the second, or NO_INDEX if the player is not in a game.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Records the player's seat. Called by the game only.
+     *
+     * @param index The seat, 0 or 1.
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
+
     /**
      * Retrieves the list of workers controlled by this player. Each player starts with two workers, which are used to
      * move around the board and build structures.
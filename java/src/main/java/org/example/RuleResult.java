@@ -0,0 +1,35 @@
+package org.example;
+
+/**
+ * Outcome of checking an action against the rules: {@link #OK}, or the first rule the action breaks.
+ * The rule layer returns these constants instead of throwing, so a rejected click costs no exception
+ * or string; turning a reason into a message for the player is left to {@link App}.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public enum RuleResult {
+    OK,
+    GAME_OVER,
+    NO_WORKER_SELECTED,
+    NOT_YOUR_TURN,
+    WRONG_PHASE,
+    OFF_BOARD,
+    NOT_ADJACENT,
+    DOMED,
+    OCCUPIED,
+    TOO_HIGH,
+    GOD_CARD_RULE;
+
+    private static final RuleResult[] VALUES = values();
+
+    /**
+     * Looks a result up by its ordinal without copying the values array.
+     *
+     * @param ordinal The ordinal.
+     * @return The result with that ordinal.
+     */
+    static RuleResult of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
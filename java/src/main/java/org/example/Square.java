@@ -3,19 +3,37 @@ package org.example;
 /**
  * Represents a single square on the Santorini game board.
  * Each square can hold a tower and may be occupied by a worker.
+ * A square is a lightweight view over one cell of a {@link BitBoard}: boards hand out squares on demand instead of
+ * keeping a Square and Tower object per cell alive. On a board, the occupying worker is looked up in and written through
+ * the board's worker slots; a standalone square keeps its own worker.
  *
  * @author Lu Wang
  * @AndrewID luw2
  */
 public class Square {
-    private Worker occupiedWorker;
-    private Tower tower;
+    private final Board board;
+    private final BitBoard bits;
+    private final int index;
+    private Worker occupiedWorker; // Only used by a standalone square
 
     /**
      * Initializes a new Square instance without a worker and with a new tower.
      */
     public Square() {
-        this.tower = new Tower();
+        this(null, new BitBoard(), 0);
+    }
+
+    /**
+     * Initializes a Square backed by one cell of a board's bit planes.
+     *
+     * @param board The board the square belongs to, or null for a standalone square.
+     * @param bits  The bit board shared by every square of the board.
+     * @param index The cell index of this square.
+     */
+    Square(Board board, BitBoard bits, int index) {
+        this.board = board;
+        this.bits = bits;
+        this.index = index;
     }
 
     /**
@@ -24,7 +42,14 @@ public class Square {
      * @param occupiedWorker The worker to occupy the square. Setting this to null marks the square as unoccupied.
      */
     public void setOccupiedWorker(Worker occupiedWorker) {
-        this.occupiedWorker = occupiedWorker;
+        if (board == null) {
+            this.occupiedWorker = occupiedWorker;
+            bits.setOccupied(index, occupiedWorker != null);
+        } else if (occupiedWorker == null) {
+            board.removeWorkerAt(index);
+        } else {
+            board.updateWorkerPosition(occupiedWorker, board.positionOf(index));
+        }
     }
 
     /**
@@ -33,7 +58,7 @@ public class Square {
      * @return The Worker occupying the square, or null if the square is unoccupied.
      */
     public Worker getOccupiedWorker() {
-        return occupiedWorker;
+        return board != null ? board.getWorkerAt(index) : occupiedWorker;
     }
 
 
@@ -43,7 +68,7 @@ public class Square {
      * @return true if the square is occupied, false otherwise.
      */
     public boolean getIsOccupied() {
-        return getOccupiedWorker() != null;
+        return bits.isOccupied(index);
     }
 
     /**
@@ -52,7 +77,7 @@ public class Square {
      * @return An int representing the number of levels built on the tower.
      */
     public int getBuildingLevel() {
-        return tower.getLevels();
+        return bits.getHeight(index);
     }
 
     /**
@@ -61,7 +86,7 @@ public class Square {
      * @return true if a level was successfully added, indicating the tower had less than 3 levels and no dome; false otherwise.
      */
     public boolean buildBlock() {
-        return tower.buildLevel();
+        return getTower().buildLevel();
     }
 
     /**
@@ -70,7 +95,7 @@ public class Square {
      * @return true if the dome was successfully placed, requiring the tower to have exactly 3 levels and no existing dome; false otherwise.
      */
     public boolean placeDome() {
-        return tower.placeDome();
+        return getTower().placeDome();
     }
 
     /**
@@ -79,7 +104,16 @@ public class Square {
      * @return true if the tower has a dome, false otherwise.
      */
     public boolean hasDome() {
-        return tower != null && tower.getHasDome();
+        return bits.hasDome(index);
+    }
+
+    /**
+     * Retrieves the tower on this square, a view over the same cell.
+     *
+     * @return The tower on this square.
+     */
+    public Tower getTower() {
+        return new Tower(bits, index);
     }
 }
 
@@ -3,21 +3,32 @@ package org.example;
 /**
  * Represents a tower in the board game Santorini.
  * A tower can have up to three levels and may be topped with a dome.
+ * The tower is a view over one cell of a {@link BitBoard}; a standalone tower owns a private bit board.
  *
  * @author Lu Wang
  * @AndrewID luw2
  */
 public class Tower {
-    private int levels;
-    private boolean hasDome;
+    private final BitBoard bits;
+    private final int index;
     private static final int MAX_LEVELS = 3;
 
     /**
      * Initializes a new Tower instance with no levels and no dome.
      */
     public Tower() {
-        this.levels = 0;
-        this.hasDome = false;
+        this(new BitBoard(), 0);
+    }
+
+    /**
+     * Initializes a Tower backed by one cell of a board's bit planes.
+     *
+     * @param bits  The bit board holding the level and dome planes.
+     * @param index The cell index of this tower.
+     */
+    Tower(BitBoard bits, int index) {
+        this.bits = bits;
+        this.index = index;
     }
 
     /**
@@ -26,13 +37,13 @@ public class Tower {
      * @return true if a level was successfully added, false otherwise
      */
     public boolean buildLevel() {
-        if (!hasDome && levels < MAX_LEVELS) {
-            levels++;
-            return true;
-        } else if (!hasDome && levels == MAX_LEVELS) {
-            System.out.println("Already has three levels. Can only place a dome.");
+        boolean hasDome = getHasDome();
+        if (!hasDome && getLevels() < MAX_LEVELS) {
+            return bits.buildLevel(index);
+        } else if (!hasDome) {
+            GameLog.debug("Already has three levels. Can only place a dome.");
         } else {
-            System.out.println("Already has three levels and a dome. The tower is complete.");
+            GameLog.debug("Already has three levels and a dome. The tower is complete.");
         }
         return false;
     }
@@ -43,16 +54,15 @@ public class Tower {
      * @return true if the dome was successfully placed, false otherwise.
      */
     public boolean placeDome() {
-        if (!hasDome) {
-            if (levels == MAX_LEVELS) {
-                hasDome = true;
-                System.out.println("Dome placed successfully.");
+        if (!getHasDome()) {
+            if (bits.placeDome(index)) {
+                GameLog.debug("Dome placed successfully.");
                 return true;
-            } else if (levels < MAX_LEVELS) {
-                System.out.println("Not enough levels to place a dome.");
+            } else {
+                GameLog.debug("Not enough levels to place a dome.");
             }
         } else {
-            System.out.println("Already has a dome. The tower is complete.");
+            GameLog.debug("Already has a dome. The tower is complete.");
         }
         return false;
     }
@@ -63,7 +73,7 @@ public class Tower {
      * @return The number of levels (0 to 3).
      */
     public int getLevels() {
-        return levels;
+        return bits.getHeight(index);
     }
 
 
@@ -73,7 +83,7 @@ public class Tower {
      * @return true if the tower has a dome, false otherwise.
      */
     public boolean getHasDome() {
-        return hasDome;
+        return bits.hasDome(index);
     }
 
 }
@@ -0,0 +1,130 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table for {@link AlphaBeta}, kept in one {@code long[]} with no per-entry objects.
+ * Each entry is two longs: the packed data and the data XOR-ed with the position key. A probe accepts the data
+ * only if XOR-ing the two gives back the key, so an entry half-written by another thread reads as a miss and
+ * several searches can share one table without locks. Replacement is lossy: a store overwrites the entry of
+ * another position, and overwrites the same position unless the stored search was deeper.
+ * <pre>
+ * bits 0-30   best turn, see {@link Turn}, or {@link AlphaBeta#NO_TURN} masked to 31 bits
+ * bits 31-51  score, offset by 2^20
+ * bits 52-57  depth in turns
+ * bits 58-59  bound: {@link #EXACT}, {@link #LOWER} or {@link #UPPER}; never 0, so a stored entry is never {@link #MISS}
+ * </pre>
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class TranspositionTable {
+    public static final long MISS = 0;
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+    private static final long TURN_MASK = 0x7FFFFFFFL;
+    private static final int SCORE_SHIFT = 31;
+    private static final int SCORE_OFFSET = 1 << 20;
+    private static final long SCORE_MASK = (1L << 21) - 1;
+    private static final int DEPTH_SHIFT = 52;
+    private static final long DEPTH_MASK = 0x3F;
+    private static final int BOUND_SHIFT = 58;
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] entries;
+    private final int mask;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param megabytes The memory to use, from 1 to 1024; rounded down to a power-of-two number of entries.
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > 1024) {
+            throw new IllegalArgumentException("Table size must be between 1 and 1024 MB, got " + megabytes);
+        }
+        int count = Integer.highestOneBit((int) ((long) megabytes * (1 << 20) / ENTRY_BYTES));
+        this.entries = new long[2 * count];
+        this.mask = count - 1;
+    }
+
+    /**
+     * Looks a position up.
+     *
+     * @param key The position key.
+     * @return The packed entry, read with the static accessors, or {@link #MISS}.
+     */
+    public long probe(long key) {
+        int index = ((int) key & mask) << 1;
+        long data = entries[index + 1];
+        return (entries[index] ^ data) == key ? data : MISS;
+    }
+
+    /**
+     * Records the result of searching a position.
+     *
+     * @param key   The position key.
+     * @param turn  The best turn found, or {@link AlphaBeta#NO_TURN}.
+     * @param score The score, within 2^20 of zero.
+     * @param depth The depth searched, from 0 to 63.
+     * @param bound Whether the score is {@link #EXACT}, a {@link #LOWER} bound or an {@link #UPPER} bound.
+     */
+    public void store(long key, int turn, int score, int depth, int bound) {
+        int index = ((int) key & mask) << 1;
+        long old = entries[index + 1];
+        if ((entries[index] ^ old) == key && depth(old) > depth) {
+            return;
+        }
+        long data = (turn & TURN_MASK)
+                | (long) (score + SCORE_OFFSET) << SCORE_SHIFT
+                | (long) depth << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT;
+        entries[index] = key ^ data;
+        entries[index + 1] = data;
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        Arrays.fill(entries, 0);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Counts how full the table is by sampling its first entries.
+     *
+     * @return Used entries per thousand.
+     */
+    public int getPermilleUsed() {
+        int sample = Math.min(1000, mask + 1);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (entries[2 * i + 1] != MISS) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    public static int turn(long entry) {
+        int turn = (int) (entry & TURN_MASK);
+        return turn == TURN_MASK ? AlphaBeta.NO_TURN : turn;
+    }
+
+    public static int score(long entry) {
+        return (int) ((entry >>> SCORE_SHIFT) & SCORE_MASK) - SCORE_OFFSET;
+    }
+
+    public static int depth(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example;
+
+/**
+ * Encoding of a complete turn in a single int, as produced by {@link TurnGenerator}.
+ * <pre>
+ * bits 0-1    worker slot (0-1 first player, 2-3 second player)
+ * bits 2-8    move target cell
+ * bits 9-15   build cell ({@link #NONE} when the move wins)
+ * bits 16-22  optional second build cell (Demeter, Hephaestus), or {@link #NONE}
+ * bits 23-29  cell the displaced opponent ends on (Apollo swap, Minotaur push), or {@link #NONE}
+ * bit  30     set when the move wins the game
+ * </pre>
+ * Cell fields are 7 bits wide so every cell of a 64-cell board stays distinct from {@link #NONE}.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class Turn {
+    public static final int NONE = 127;
+    private static final int CELL_MASK = 0x7F;
+    private static final int MOVE_SHIFT = 2;
+    private static final int BUILD_SHIFT = 9;
+    private static final int SECOND_BUILD_SHIFT = 16;
+    private static final int DISPLACED_SHIFT = 23;
+    private static final int WIN_BIT = 1 << 30;
+
+    private Turn() {
+    }
+
+    /**
+     * Packs a turn.
+     *
+     * @param workerSlot    The slot of the worker that moves.
+     * @param moveCell      The cell it moves to.
+     * @param buildCell     The cell it builds on, or {@link #NONE}.
+     * @param secondBuild   The second build cell, or {@link #NONE}.
+     * @param displacedCell The cell the displaced opponent ends on, or {@link #NONE}.
+     * @param win           true if the move wins.
+     * @return The encoded turn.
+     */
+    public static int encode(int workerSlot, int moveCell, int buildCell, int secondBuild, int displacedCell, boolean win) {
+        return workerSlot
+                | moveCell << MOVE_SHIFT
+                | buildCell << BUILD_SHIFT
+                | secondBuild << SECOND_BUILD_SHIFT
+                | displacedCell << DISPLACED_SHIFT
+                | (win ? WIN_BIT : 0);
+    }
+
+    public static int workerSlot(int turn) {
+        return turn & 0x3;
+    }
+
+    public static int moveCell(int turn) {
+        return (turn >>> MOVE_SHIFT) & CELL_MASK;
+    }
+
+    public static int buildCell(int turn) {
+        return (turn >>> BUILD_SHIFT) & CELL_MASK;
+    }
+
+    public static int secondBuildCell(int turn) {
+        return (turn >>> SECOND_BUILD_SHIFT) & CELL_MASK;
+    }
+
+    public static int displacedCell(int turn) {
+        return (turn >>> DISPLACED_SHIFT) & CELL_MASK;
+    }
+
+    public static boolean isWin(int turn) {
+        return (turn & WIN_BIT) != 0;
+    }
+
+    /**
+     * Describes a turn on the standard board for debugging, e.g. {@code "W0 [1, 2] build [2, 2]"}.
+     *
+     * @param turn The encoded turn.
+     * @return A readable description.
+     */
+    public static String toString(int turn) {
+        return toString(turn, MoveTables.STANDARD);
+    }
+
+    /**
+     * Describes a turn for debugging, e.g. {@code "W0 [1, 2] build [2, 2]"}.
+     *
+     * @param turn   The encoded turn.
+     * @param tables The cell numbering of the board the turn was generated on.
+     * @return A readable description.
+     */
+    public static String toString(int turn, MoveTables tables) {
+        StringBuilder text = new StringBuilder("W").append(workerSlot(turn)).append(' ')
+                .append(tables.positionOf(moveCell(turn)));
+        if (isWin(turn)) {
+            return text.append(" wins").toString();
+        }
+        text.append(" build ").append(tables.positionOf(buildCell(turn)));
+        if (secondBuildCell(turn) != NONE) {
+            text.append(" then ").append(tables.positionOf(secondBuildCell(turn)));
+        }
+        if (displacedCell(turn) != NONE) {
+            text.append(", opponent to ").append(tables.positionOf(displacedCell(turn)));
+        }
+        return text.toString();
+    }
+}
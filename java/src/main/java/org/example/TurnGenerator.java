@@ -0,0 +1,90 @@
+package org.example;
+
+import org.example.godcards.GodCard;
+
+/**
+ * Enumerates every complete turn of the player to move without touching the game.
+ * A turn is a move, the build that follows it and, for Demeter and Hephaestus, the optional second build;
+ * Apollo swaps and Minotaur pushes are recorded with the cell the opponent ends on.
+ * Move targets come from {@link Game#calculateLegalMoveMask(Worker)}; the board after the move is modelled
+ * with occupancy masks only, and god card behaviour comes from the primitive hooks on {@link GodCard}.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class TurnGenerator {
+    /**
+     * Upper bound on the number of turns in one position: 2 workers x 8 moves x 8 builds x (1 + 8 second builds).
+     */
+    public static final int MAX_TURNS = 2 * MoveTables.DIRECTIONS * MoveTables.DIRECTIONS * (1 + MoveTables.DIRECTIONS);
+    private static final int WORKERS_PER_PLAYER = 2;
+
+    private TurnGenerator() {
+    }
+
+    /**
+     * Writes every legal turn of the player to move into a buffer.
+     * Only a turn that has not started yet (MOVE phase) has turns; any other phase yields none.
+     *
+     * @param game  The game to read.
+     * @param turns The buffer, with room for {@link #MAX_TURNS} entries.
+     * @return The number of turns written.
+     */
+    public static int generate(Game game, int[] turns) {
+        if (game.getGamePhase() != Game.GamePhase.MOVE) {
+            return 0;
+        }
+        Board board = game.getBoard();
+        BitBoard bits = board.getBitBoard();
+        MoveTables tables = board.getTables();
+        GodCard godCard = game.getGodCardForPlayer(game.getCurrentPlayer());
+        int side = game.playerIndex(game.getCurrentPlayer());
+        long occupied = bits.getOccupied();
+        long open = ~bits.getDomes();
+        int count = 0;
+        for (int i = 0; i < WORKERS_PER_PLAYER; i++) {
+            int slot = side * WORKERS_PER_PLAYER + i;
+            Worker worker = game.getWorker(slot);
+            BoardPosition position = worker.getPosition();
+            int from = position == null ? MoveTables.NONE : board.cellOf(position);
+            if (from < 0) {
+                continue;
+            }
+            long moves = game.calculateLegalMoveMask(worker);
+            while (moves != 0) {
+                int to = Long.numberOfTrailingZeros(moves);
+                moves &= moves - 1;
+                long occupiedAfter = (occupied & ~BitBoard.bit(from)) | BitBoard.bit(to);
+                int displaced = Turn.NONE;
+                if (godCard != null && bits.isOccupied(to)) {
+                    int cell = godCard.displacedWorkerCell(from, to, bits);
+                    if (cell != MoveTables.NONE) {
+                        displaced = cell;
+                        occupiedAfter |= BitBoard.bit(cell);
+                    }
+                }
+                boolean win = godCard == null ? bits.isClimbToThirdLevel(from, to) : godCard.winsByMove(from, to, bits);
+                if (win) {
+                    turns[count++] = Turn.encode(slot, to, Turn.NONE, Turn.NONE, displaced, true);
+                    continue;
+                }
+                long buildTargets = tables.neighbourMask(to) & ~occupiedAfter & open;
+                long builds = buildTargets;
+                while (builds != 0) {
+                    int build = Long.numberOfTrailingZeros(builds);
+                    builds &= builds - 1;
+                    turns[count++] = Turn.encode(slot, to, build, Turn.NONE, displaced, false);
+                    if (godCard != null) {
+                        long secondBuilds = godCard.secondBuildMask(build, buildTargets, bits);
+                        while (secondBuilds != 0) {
+                            int second = Long.numberOfTrailingZeros(secondBuilds);
+                            secondBuilds &= secondBuilds - 1;
+                            turns[count++] = Turn.encode(slot, to, build, second, displaced, false);
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
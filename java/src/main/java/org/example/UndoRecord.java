@@ -0,0 +1,83 @@
+package org.example;
+
+/**
+ * Bit layout of the undo records kept by {@link Game}.
+ * One record is a single long holding everything an action can change: the cells of the four workers
+ * (which covers Apollo swaps and Minotaur pushes), the cell that received a block or dome, the phase,
+ * the current action, player and worker, the winner, and the per-turn state of both god cards.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+final class UndoRecord {
+    static final int NO_CELL = 127;
+    static final int NO_WORKER = 7;
+    static final int CELL_BITS = 7; // room for all 64 cells of the largest board plus NO_CELL
+    private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+    private static final int GOD_STATE_BITS = 7;
+    private static final int GOD_STATE_MASK = (1 << GOD_STATE_BITS) - 1;
+
+    private static final int WORKERS_SHIFT = 0;              // 4 x 7 bits
+    private static final int BUILT_SHIFT = 28;               // 7 bits
+    private static final int PHASE_SHIFT = 35;               // 3 bits
+    private static final int ACTION_SHIFT = 38;              // 2 bits
+    private static final int PLAYER_SHIFT = 40;              // 1 bit
+    private static final int CURRENT_WORKER_SHIFT = 41;      // 3 bits
+    private static final int WINNER_SHIFT = 44;              // 2 bits
+    private static final int GOD_STATE_SHIFT = 46;           // 2 x 7 bits
+
+    private UndoRecord() {
+    }
+
+    static long withWorkerCell(long record, int slot, int cell) {
+        int shift = WORKERS_SHIFT + slot * CELL_BITS;
+        return (record & ~((long) CELL_MASK << shift)) | ((long) cell << shift);
+    }
+
+    static int workerCell(long record, int slot) {
+        return (int) (record >>> (WORKERS_SHIFT + slot * CELL_BITS)) & CELL_MASK;
+    }
+
+    static long withBuiltCell(long record, int cell) {
+        return (record & ~((long) CELL_MASK << BUILT_SHIFT)) | ((long) cell << BUILT_SHIFT);
+    }
+
+    static int builtCell(long record) {
+        return (int) (record >>> BUILT_SHIFT) & CELL_MASK;
+    }
+
+    static long pack(int phase, int action, int player, int currentWorker, int winner, int godState0, int godState1) {
+        return ((long) NO_CELL << BUILT_SHIFT)
+                | ((long) phase << PHASE_SHIFT)
+                | ((long) action << ACTION_SHIFT)
+                | ((long) player << PLAYER_SHIFT)
+                | ((long) currentWorker << CURRENT_WORKER_SHIFT)
+                | ((long) winner << WINNER_SHIFT)
+                | ((long) (godState0 & GOD_STATE_MASK) << GOD_STATE_SHIFT)
+                | ((long) (godState1 & GOD_STATE_MASK) << (GOD_STATE_SHIFT + GOD_STATE_BITS));
+    }
+
+    static int phase(long record) {
+        return (int) (record >>> PHASE_SHIFT) & 0x7;
+    }
+
+    static int action(long record) {
+        return (int) (record >>> ACTION_SHIFT) & 0x3;
+    }
+
+    static int player(long record) {
+        return (int) (record >>> PLAYER_SHIFT) & 0x1;
+    }
+
+    static int currentWorker(long record) {
+        return (int) (record >>> CURRENT_WORKER_SHIFT) & 0x7;
+    }
+
+    static int winner(long record) {
+        return (int) (record >>> WINNER_SHIFT) & 0x3;
+    }
+
+    static int godState(long record, int player) {
+        return (int) (record >>> (GOD_STATE_SHIFT + player * GOD_STATE_BITS)) & GOD_STATE_MASK;
+    }
+}
@@ -3,6 +3,8 @@ package org.example;
 /**
  * Represents a worker in the Santorini game.
  * Each worker is associated with a player and can occupy a position on the game board.
+ * Once placed, the board's worker slots are the only record of where the worker stands; the worker just
+ * remembers its board and slot. A worker that is not on any board keeps its own position.
  *
  * @author Lu Wang
  * @AndrewID luw2
@@ -10,7 +12,10 @@ package org.example;
 public class Worker {
     private final String workerID;
     private final Player owner;
-    private BoardPosition position;
+    private final int number; // 0 or 1 among the owner's workers, or -1 for a worker the owner does not list
+    private BoardPosition position; // Only used while the worker is not on a board
+    private Board board;
+    private int slot = -1;
 
     /**
      * Constructs a Worker with a specified ID and owner.
@@ -19,8 +24,20 @@ public class Worker {
      * @param owner    The player who owns this worker. This association determines who can control the worker's movements and actions.
      */
     public Worker(String workerID, Player owner) {
+        this(workerID, owner, -1);
+    }
+
+    /**
+     * Constructs one of a player's own workers.
+     *
+     * @param workerID The worker's display ID.
+     * @param owner    The player who owns this worker.
+     * @param number   The worker's place among the owner's workers, 0 or 1.
+     */
+    Worker(String workerID, Player owner, int number) {
         this.workerID = workerID;
         this.owner = owner;
+        this.number = number;
     }
 
     /**
@@ -41,6 +58,27 @@ public class Worker {
         return owner;
     }
 
+    /**
+     * Retrieves the worker's dense index in its game: owner index * 2 + its place among the owner's workers,
+     * so 0-1 for the first player's workers and 2-3 for the second's.
+     *
+     * @return The worker index, or -1 if the worker or its owner has no index.
+     */
+    public int getIndex() {
+        int ownerIndex = owner.getIndex();
+        return number < 0 || ownerIndex < 0 ? -1 : ownerIndex << 1 | number;
+    }
+
+    /**
+     * Checks whether two workers belong to the same player.
+     *
+     * @param other The other worker.
+     * @return true if both workers have the same owner.
+     */
+    public boolean isAllyOf(Worker other) {
+        return owner == other.owner;
+    }
+
     /**
      * Retrieves the owner (Player) of the worker.
      *
@@ -56,7 +94,7 @@ public class Worker {
      * @return The BoardPosition representing the worker's current location. May be null if the worker has not been placed on the board.
      */
     public BoardPosition getPosition() {
-        return position;
+        return board != null ? board.getSlotPosition(slot) : position;
     }
 
     /**
@@ -66,8 +104,51 @@ public class Worker {
      * @param position The new position of the worker on the game board. This can be used to move the worker to a different square.
      */
     public void setPosition(BoardPosition position) {
-        this.position = position;
+        if (board == null) {
+            this.position = position;
+        } else if (position == null) {
+            board.removeWorker(this);
+        } else {
+            board.updateWorkerPosition(this, position);
+        }
     }
 
+    /**
+     * Records that the worker now stands in a board's slot. Called by the board only.
+     *
+     * @param board The board.
+     * @param slot  The worker slot on that board.
+     */
+    void attach(Board board, int slot) {
+        this.board = board;
+        this.slot = slot;
+        this.position = null;
+    }
+
+    /**
+     * Records that the worker has left its board. Called by the board only.
+     */
+    void detach() {
+        this.board = null;
+        this.slot = -1;
+    }
+
+    /**
+     * Getter for the board the worker stands on
+     *
+     * @return board, or null if the worker is not on a board
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Getter for the worker slot on its board
+     *
+     * @return slot, or -1 if the worker is not on a board
+     */
+    int getSlot() {
+        return slot;
+    }
 
 }
@@ -0,0 +1,165 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for Santorini positions.
+ * Every feature of a position (a tower level or dome on a cell, a worker of either side on a cell, the side to move,
+ * the phase and action, and each player's god card turn state) owns one random 64-bit key. A position's key is the
+ * XOR of the keys of its features, so {@link BitBoard}, {@link Board} and {@link Game} keep it up to date by
+ * XOR-ing a key in or out whenever a feature changes.
+ * The keys come from a fixed seed, so the same position hashes the same in every run.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public final class Zobrist {
+    public static final int GOD_STATES = 128;
+    private static final long SEED = 0x5A4E7011A1L;
+    private static final long[][] LEVEL = new long[MoveTables.MAX_CELLS][4];
+    private static final long[] DOME = new long[MoveTables.MAX_CELLS];
+    private static final long[][] WORKER = new long[2][MoveTables.MAX_CELLS];
+    private static final long[] BUILDER = new long[MoveTables.MAX_CELLS];
+    private static final long[] PHASE = new long[Game.GamePhase.values().length];
+    private static final long[] ACTION = new long[Game.PlayerAction.values().length + 1];
+    private static final long[][] GOD_STATE = new long[2][GOD_STATES];
+    private static final long SECOND_PLAYER_TO_MOVE;
+    private static final long[][] GOD_CARD = new long[2][8];
+    private static final long[] WIDTH = new long[MoveTables.MAX_CELLS + 1];
+    private static final long[] HEIGHT = new long[MoveTables.MAX_CELLS + 1];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int cell = 0; cell < MoveTables.MAX_CELLS; cell++) {
+            for (int level = 1; level < 4; level++) {
+                LEVEL[cell][level] = random.nextLong();
+            }
+            DOME[cell] = random.nextLong();
+            WORKER[0][cell] = random.nextLong();
+            WORKER[1][cell] = random.nextLong();
+            BUILDER[cell] = random.nextLong();
+        }
+        for (int i = 0; i < PHASE.length; i++) {
+            PHASE[i] = random.nextLong();
+        }
+        for (int i = 0; i < ACTION.length; i++) {
+            ACTION[i] = random.nextLong();
+        }
+        for (int player = 0; player < 2; player++) {
+            for (int state = 1; state < GOD_STATES; state++) {
+                GOD_STATE[player][state] = random.nextLong(); // state 0 (idle) keeps key 0
+            }
+        }
+        SECOND_PLAYER_TO_MOVE = random.nextLong();
+        // Rules keys are drawn after the position keys, so adding rules keys never changes a position key
+        for (int player = 0; player < 2; player++) {
+            for (int id = 0; id < GOD_CARD[player].length; id++) {
+                GOD_CARD[player][id] = random.nextLong();
+            }
+        }
+        for (int size = 0; size <= MoveTables.MAX_CELLS; size++) {
+            WIDTH[size] = random.nextLong();
+            HEIGHT[size] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Key of the given tower level standing on a cell.
+     *
+     * @param cell  The cell index.
+     * @param level The level, from 1 to 3.
+     * @return The key.
+     */
+    public static long level(int cell, int level) {
+        return LEVEL[cell][level];
+    }
+
+    /**
+     * Key of a dome on a cell.
+     *
+     * @param cell The cell index.
+     * @return The key.
+     */
+    public static long dome(int cell) {
+        return DOME[cell];
+    }
+
+    /**
+     * Key of a worker of one side standing on a cell.
+     *
+     * @param side 0 for the first player's workers, 1 for the second player's.
+     * @param cell The cell index.
+     * @return The key.
+     */
+    public static long worker(int side, int cell) {
+        return WORKER[side][cell];
+    }
+
+    /**
+     * Key of the worker that has moved this turn and must build, standing on a cell.
+     *
+     * @param cell The cell index.
+     * @return The key.
+     */
+    public static long builder(int cell) {
+        return BUILDER[cell];
+    }
+
+    /**
+     * Key of a game phase.
+     *
+     * @param phase The phase.
+     * @return The key.
+     */
+    public static long phase(Game.GamePhase phase) {
+        return PHASE[phase.ordinal()];
+    }
+
+    /**
+     * Key of a player action.
+     *
+     * @param action The action, or null before the first action.
+     * @return The key.
+     */
+    public static long action(Game.PlayerAction action) {
+        return ACTION[action == null ? 0 : action.ordinal() + 1];
+    }
+
+    /**
+     * Key of a god card's turn state, as returned by {@link org.example.godcards.GodCard#saveTurnState()}.
+     *
+     * @param player The player index, 0 or 1.
+     * @param state  The turn state, 0 when the card is idle.
+     * @return The key.
+     */
+    public static long godState(int player, int state) {
+        return GOD_STATE[player][state];
+    }
+
+    /**
+     * Key XOR-ed in while the second player is to move.
+     *
+     * @return The key.
+     */
+    public static long secondPlayerToMove() {
+        return SECOND_PLAYER_TO_MOVE;
+    }
+
+    /**
+     * Key of the rules a game is played under: its board size and both players' god cards.
+     * Positions are only hashed within one game, so this is not part of {@link Game#getZobristKey()}; a table
+     * shared between games XORs it in to keep positions of different games apart.
+     *
+     * @param width  The board width.
+     * @param height The board height.
+     * @param godA   The first player's god card id, see {@link org.example.godcards.GodCardFactory#idOf}.
+     * @param godB   The second player's god card id.
+     * @return The key.
+     */
+    public static long rules(int width, int height, int godA, int godB) {
+        return WIDTH[width] ^ HEIGHT[height] ^ GOD_CARD[0][godA] ^ GOD_CARD[1][godB];
+    }
+}
@@ -2,8 +2,6 @@ package org.example.godcards;
 
 import org.example.*;
 
-import java.util.List;
-
 /**
  * Demeter: Your Worker may build one additional time, but not on the same space.
  *
@@ -12,6 +10,7 @@ import java.util.List;
  */
 public class Demeter implements GodCard {
     private BoardPosition lastBuildPosition = null;
+    private int lastBuildCell = MoveTables.NONE; // Cell of lastBuildPosition on the board in play
     private boolean hasBuiltOnce = false;
 
     /**
@@ -36,56 +35,27 @@ public class Demeter implements GodCard {
         hasBuiltOnce = false;
     }
 
-    /**
-     * This method modifies the moving validation logic.
-     *
-     * @param worker The worker performing the move.
-     * @param from   The position where the worker initially at.
-     * @param to     The position where the worker attempts to move.
-     * @param board  The game board, providing context needed for the decision.
-     * @return true if the move is valid according to Demeter's rules, false otherwise.
-     */
-    @Override
-    public boolean modifyMoveValidation(Worker worker, BoardPosition from, BoardPosition to, Board board) {
-        // Since Demeter's power does not affect movement, just use the standard game rules for movement validation.
-        return board.isMoveLegal(worker, from, to);
-    }
-
-    /**
-     * This method modifies the building validation logic to implement Demeter's special building ability.
-     * It allows the worker to build one additional time, but not on the same space as the initial build.
-     *
-     * @param worker        The worker performing the build.
-     * @param buildPosition The position where the worker attempts to build.
-     * @param board         The game board, providing context needed for the decision.
-     * @return true if the build is valid according to Demeter's rules, false otherwise.
-     */
-    @Override
-    public boolean modifyBuildValidation(Worker worker, BoardPosition buildPosition, Board board) {
-        // Check if this is the first build or a subsequent build on a different square
-        if (hasBuiltOnce && lastBuildPosition != null && lastBuildPosition.equals(buildPosition)) {
-            // Prevent building on the same square in the same turn
-            return false;
-        }
-        // Fallback to standard legality check if conditions above don't apply
-        return board.isBuildLegal(worker, worker.getPosition(), buildPosition);
-    }
-
     // Demeter does not affect movement
     @Override
-    public List<BoardPosition> modifyLegalMoves(Worker worker, List<BoardPosition> legalMoves, Board board) {
+    public long modifyLegalMoveMask(Worker worker, long legalMoves, Board board) {
         return legalMoves;
     }
 
     // For second build, Demeter cannot build on the same square
     @Override
-    public List<BoardPosition> modifyLegalBuilds(Worker worker, List<BoardPosition> legalBuilds, Board board) {
-        if (hasBuiltOnce) {
-            legalBuilds.removeIf(position -> position.equals(lastBuildPosition)); // Remove the last build position if built once
+    public long modifyLegalBuildMask(Worker worker, long legalBuilds, Board board) {
+        if (hasBuiltOnce && lastBuildPosition != null) {
+            legalBuilds &= ~BitBoard.bit(board.cellOf(lastBuildPosition)); // Remove the last build position if built once
         }
         return legalBuilds;
     }
 
+    // The optional second build may go on any other legal square.
+    @Override
+    public long secondBuildMask(int firstBuild, long buildTargets, BitBoard bits) {
+        return buildTargets & ~BitBoard.bit(firstBuild);
+    }
+
     /**
      * Demeter may perform a second build
      * @param game game
@@ -106,6 +76,8 @@ public class Demeter implements GodCard {
     private void firstBuildAction(BoardPosition buildPosition, Game game, Worker worker){
         hasBuiltOnce = true;
         lastBuildPosition = buildPosition;
+        lastBuildCell = game.getBoard().cellOf(buildPosition);
+        GameLog.debug("Demeter: {} may build again, but not at {}", worker.getWorkerID(), buildPosition);
         game.setGamePhase(Game.GamePhase.SECOND_BUILD); // Set to second build phase
     }
 
@@ -121,12 +93,6 @@ public class Demeter implements GodCard {
         game.switchTurn(); // End the current player's turn
     }
 
-    @Override
-    public boolean preMoveExecution(Worker worker, BoardPosition from, BoardPosition to, Board board) {
-        // Demeter's power does not affect pre-move conditions.
-        return true;
-    }
-
     @Override
     public void postMoveExecution(Game game, Worker worker, BoardPosition from, BoardPosition to) {
         // Demeter's power does not affect post-move conditions.
@@ -138,15 +104,31 @@ public class Demeter implements GodCard {
             hasBuiltOnce = false;
             lastBuildPosition = null;
             game.switchTurn();
-            game.setGamePhase(Game.GamePhase.MOVE);
         } else {
         }
     }
 
+    /**
+     * Encodes the pending second build as the cell index of the first build plus one, or 0 if none.
+     *
+     * @return per-turn state
+     */
+    @Override
+    public int saveTurnState() {
+        return hasBuiltOnce && lastBuildPosition != null ? lastBuildCell + 1 : 0;
+    }
+
+    /**
+     * Restores the pending second build saved by {@link #saveTurnState()}.
+     *
+     * @param state per-turn state
+     * @param board board the state was saved from
+     */
     @Override
-    public boolean checkWinCondition(Worker worker, BoardPosition from, BoardPosition to, Board board) {
-        // Demeter's ability does not affect winning conditions directly.
-        return false;
+    public void restoreTurnState(int state, Board board) {
+        hasBuiltOnce = state != 0;
+        lastBuildCell = hasBuiltOnce ? state - 1 : MoveTables.NONE;
+        lastBuildPosition = hasBuiltOnce ? board.positionOf(lastBuildCell) : null;
     }
 
     /**
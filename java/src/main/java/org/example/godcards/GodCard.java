@@ -14,29 +14,57 @@ public interface GodCard {
     // Optionally, reverses the effect when no longer needed or when game conditions change
     void deactivateEffect(Game game);
 
-    // Method to adjust validation of moves based on the god card's rules
-    boolean modifyMoveValidation(Worker worker, BoardPosition from, BoardPosition to, Board board);
-    // Method to adjust validation of builds based on the god card's rules
-    boolean modifyBuildValidation(Worker worker, BoardPosition buildPosition, Board board);
+    // Method to adjust the legal move targets, given as a cell mask, based on the god card's rules
+    long modifyLegalMoveMask(Worker worker, long legalMoves, Board board);
+    // Method to adjust the legal build targets, given as a cell mask, based on the god card's rules
+    long modifyLegalBuildMask(Worker worker, long legalBuilds, Board board);
 
-    // Method to handle the retrieval of legal moves.
-    List<BoardPosition> modifyLegalMoves(Worker worker, List<BoardPosition> legalMoves, Board board);
-    // Method to handle the retrieval of legal builds.
-    List<BoardPosition> modifyLegalBuilds(Worker worker, List<BoardPosition> legalBuilds, Board board);
+    // List adapter over modifyLegalMoveMask; refills and returns the given list.
+    default List<BoardPosition> modifyLegalMoves(Worker worker, List<BoardPosition> legalMoves, Board board) {
+        long mask = modifyLegalMoveMask(worker, board.maskOf(legalMoves), board);
+        legalMoves.clear();
+        return board.positionsOf(mask, legalMoves);
+    }
+    // List adapter over modifyLegalBuildMask; refills and returns the given list.
+    default List<BoardPosition> modifyLegalBuilds(Worker worker, List<BoardPosition> legalBuilds, Board board) {
+        long mask = modifyLegalBuildMask(worker, board.maskOf(legalBuilds), board);
+        legalBuilds.clear();
+        return board.positionsOf(mask, legalBuilds);
+    }
+
+    // Turn generator hook: the cell an opponent standing on `to` ends up on when this card's worker moves from `from`,
+    // or MoveTables.NONE if the card does not move opponents
+    default int displacedWorkerCell(int from, int to, BitBoard bits) {
+        return MoveTables.NONE;
+    }
+    // Turn generator hook: the cells open to the optional second build after a first build on `firstBuild`,
+    // given the regular build targets and the board as it was before the first build
+    default long secondBuildMask(int firstBuild, long buildTargets, BitBoard bits) {
+        return 0;
+    }
+    // Turn generator hook: whether a move from `from` to `to` wins the game
+    default boolean winsByMove(int from, int to, BitBoard bits) {
+        return bits.isClimbToThirdLevel(from, to);
+    }
+    // Win-threat hook: the cells this card's workers win on next move, given the board's index of standard
+    // winning climbs and of moves down two or more levels
+    default long winningMoveMask(long climbWins, long dropWins) {
+        return climbWins;
+    }
 
     // Method to deal with post build action
     void postBuildExecution(Game game, Worker worker, BoardPosition buildPosition);
 
-    // Method to deal with pre move action
-    boolean preMoveExecution(Worker worker, BoardPosition from, BoardPosition to, Board board);
     // Method to handle actions after a move is made.
     void postMoveExecution(Game game, Worker worker, BoardPosition from, BoardPosition to);
 
     // Method for handling skips
     void skipAction(Game game);
 
-    // Method to check if meets win condition
-    boolean checkWinCondition(Worker worker, BoardPosition from, BoardPosition to, Board board);
+    // Method to export the per-turn state of the god card as a small non-negative int, 0 when no turn is in progress
+    int saveTurnState();
+    // Method to restore per-turn state previously returned by saveTurnState, on the board it was saved from
+    void restoreTurnState(int state, Board board);
 
     // Returns the name of the god card, useful for debugging or UI purposes
     String getName();
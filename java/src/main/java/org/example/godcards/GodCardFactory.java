@@ -5,6 +5,9 @@ package org.example.godcards;
  * @AndrewID luw2
  */
 public class GodCardFactory {
+    public static final int NONE = 0;
+    private static final String[] NAMES = {null, "Demeter", "Hephaestus", "Minotaur", "Pan", "Apollo"};
+
     /**
      * Creates a GodCard based on the specified name.
      *
@@ -30,4 +33,35 @@ public class GodCardFactory {
                 return null;  // No god card found for the given name, return null or throw an exception as appropriate.
         }
     }
+
+    /**
+     * Returns the compact id of a god card, used by packed game snapshots.
+     *
+     * @param godCard The god card, or null.
+     * @return The id of the card's kind, or {@link #NONE} for no card.
+     */
+    public static int idOf(GodCard godCard) {
+        if (godCard instanceof Demeter) {
+            return 1;
+        } else if (godCard instanceof Hephaestus) {
+            return 2;
+        } else if (godCard instanceof Minotaur) {
+            return 3;
+        } else if (godCard instanceof Pan) {
+            return 4;
+        } else if (godCard instanceof Apollo) {
+            return 5;
+        }
+        return NONE;
+    }
+
+    /**
+     * Creates a GodCard from the compact id returned by {@link #idOf(GodCard)}.
+     *
+     * @param id The god card id.
+     * @return The corresponding GodCard object, or null for {@link #NONE} or an unknown id.
+     */
+    public static GodCard createGodCard(int id) {
+        return id > NONE && id < NAMES.length ? createGodCard(NAMES[id]) : null;
+    }
 }
@@ -2,8 +2,6 @@ package org.example.godcards;
 
 import org.example.*;
 
-import java.util.List;
-
 /**
  * Pan: You also win if your Worker moves down two or more levels.
  *
@@ -28,45 +26,15 @@ public class Pan implements GodCard {
     public void deactivateEffect(Game game) {
     }
 
-    /**
-     * Modifies the move validation logic to implement Pan's special win condition ability.
-     * Allows the player to win if the worker descends two or more levels.
-     *
-     * @param worker The worker attempting to move.
-     * @param from   The starting position of the move.
-     * @param to     The target position of the move.
-     * @param board  The game board.
-     * @return true if the move is valid according to standard game rules, and checks if Pan's win condition is met.
-     */
-    @Override
-    public boolean modifyMoveValidation(Worker worker, BoardPosition from, BoardPosition to, Board board) {
-        // Since Pan's power does not affect movement validation, use the standard game rules
-        return board.isMoveLegal(worker, from, to);
-    }
-
-    /**
-     * Pan does not modify the standard building validation rules, so this method delegates to the standard rules.
-     *
-     * @param worker        The worker performing the build.
-     * @param buildPosition The position where the worker attempts to build.
-     * @param board         The game board, providing context needed for the decision.
-     * @return true if the build is valid according to standard game rules, false otherwise.
-     */
+    // No modification needed for legal moves; return the input mask.
     @Override
-    public boolean modifyBuildValidation(Worker worker, BoardPosition buildPosition, Board board) {
-        // Default to the standard build validation
-        return board.isBuildLegal(worker, worker.getPosition(), buildPosition);
-    }
-
-    // No modification needed for legal moves; return the input list.
-    @Override
-    public List<BoardPosition> modifyLegalMoves(Worker worker, List<BoardPosition> legalMoves, Board board) {
+    public long modifyLegalMoveMask(Worker worker, long legalMoves, Board board) {
         return legalMoves; // No change to legal moves for Pan.
     }
 
-    // No modification needed for legal builds; return the input list.
+    // No modification needed for legal builds; return the input mask.
     @Override
-    public List<BoardPosition> modifyLegalBuilds(Worker worker, List<BoardPosition> legalBuilds, Board board) {
+    public long modifyLegalBuildMask(Worker worker, long legalBuilds, Board board) {
         return legalBuilds; // No change to legal builds for Pan.
     }
 
@@ -77,12 +45,6 @@ public class Pan implements GodCard {
         game.switchTurn();
     }
 
-    // Pan does not modify move preconditions.
-    @Override
-    public boolean preMoveExecution(Worker worker, BoardPosition from, BoardPosition to, Board board) {
-        return true;
-    }
-
     // No special post move execution for Pan
     @Override
     public void postMoveExecution(Game game, Worker worker, BoardPosition from, BoardPosition to) {
@@ -93,27 +55,26 @@ public class Pan implements GodCard {
     public void skipAction(Game game) {
     }
 
-    /**
-     * Checks if Pan's special win condition is met, in addition to the standard game win conditions.
-     * Pan wins if the worker moves down two or more levels in a single move. This method checks for that condition,
-     * as well as the standard condition of climbing to the third level of a tower.
-     *
-     * @param worker The worker who is moving.
-     * @param from   The position from which the worker is moving.
-     * @param to     The position to which the worker is moving.
-     * @param board  The game board, providing context for the move.
-     * @return true if Pan's win condition or the standard win condition is met, false otherwise.
-     */
+    // Pan keeps no per-turn state.
+    @Override
+    public int saveTurnState() {
+        return 0;
+    }
+
+    @Override
+    public void restoreTurnState(int state, Board board) {
+    }
+
+    // Pan also wins by moving down two or more levels.
+    @Override
+    public boolean winsByMove(int from, int to, BitBoard bits) {
+        return bits.getHeight(from) - bits.getHeight(to) >= 2 || bits.isClimbToThirdLevel(from, to);
+    }
+
+    // Pan also wins by moving down two or more levels.
     @Override
-    public boolean checkWinCondition(Worker worker, BoardPosition from, BoardPosition to, Board board) {
-        int fromLevel = board.getSquare(from).getBuildingLevel();
-        int toLevel = board.getSquare(to).getBuildingLevel();
-        // Pan's special win condition: moving down two or more levels
-        if (fromLevel - toLevel >= 2) {
-            return true;
-        }
-        // Also check the standard win condition.
-        return board.hasWorkerClimbToThirdLevelByItsOwn(worker, from, to);
+    public long winningMoveMask(long climbWins, long dropWins) {
+        return climbWins | dropWins;
     }
 
     /**
@@ -0,0 +1,151 @@
+package org.example;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class AlphaBetaTest {
+
+    @Test
+    public void testTakesImmediateWin() {
+        Game game = TacticalPositions.immediateWin();
+        AlphaBeta.Result result = new AlphaBeta().search(game, 10_000, 3);
+        assertTrue(Turn.isWin(result.getTurn()));
+        assertEquals(game.getBoard().cellOf(TacticalPositions.WINNING_CELL), Turn.moveCell(result.getTurn()));
+        assertEquals(AlphaBeta.WIN - 1, result.getScore());
+    }
+
+    @Test
+    public void testDomesOpponentsWinningCell() {
+        Game game = TacticalPositions.threatToBlock();
+        AlphaBeta.Result result = new AlphaBeta().search(game, 10_000, 2);
+        assertEquals(game.getBoard().cellOf(TacticalPositions.THREAT_CELL), Turn.buildCell(result.getTurn()));
+        assertTrue("Blocking the only threat must not lose at once", result.getScore() > -AlphaBeta.WIN + AlphaBeta.MAX_DEPTH);
+    }
+
+    @Test
+    public void testFixedDepthLeavesGameUnchanged() {
+        for (String[] gods : new String[][]{{"None", "None"}, {"Minotaur", "Demeter"}, {"Apollo", "Pan"}}) {
+            Game game = Perft.gameAt(Perft.opening(gods[0], gods[1]));
+            AlphaBeta.Result result = TacticalPositions.searchInPlace(game, () -> new AlphaBeta().search(game, 60_000, 3));
+            assertEquals(3, result.getDepth());
+            assertNotEquals(AlphaBeta.NO_TURN, result.getTurn());
+            assertTrue("The best turn must be playable", game.makeTurn(result.getTurn()));
+        }
+    }
+
+    @Test
+    public void testTableSavesNodesWithoutChangingResult() {
+        Game game = Perft.gameAt(Perft.opening("Demeter", "Minotaur"));
+        AlphaBeta.Result plain = new AlphaBeta(null).search(game, 60_000, 3);
+        AlphaBeta.Result hashed = new AlphaBeta(new TranspositionTable(1)).search(game, 60_000, 3);
+        assertEquals(plain.getScore(), hashed.getScore());
+        assertEquals(0, plain.getTableProbes());
+        assertTrue(hashed.getTableHits() > 0);
+        assertTrue("The table should answer some nodes", hashed.getNodes() < plain.getNodes());
+    }
+
+    @Test
+    public void testParallelSearchLeavesGameUnchanged() {
+        Game game = Perft.gameAt(Perft.opening("Apollo", "Demeter"));
+        AlphaBeta.Result result = TacticalPositions.searchInPlace(game, () -> new AlphaBeta().search(game, 60_000, 3, 3));
+        assertEquals(3, result.getDepth());
+        assertTrue(game.makeTurn(result.getTurn()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParallelSearchNeedsTable() {
+        new AlphaBeta(null).search(Perft.gameAt(Perft.opening("None", "None")), 100, 2, 2);
+    }
+
+    @Test
+    public void testRootScoreMatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(5);
+        int[] buffer = new int[TurnGenerator.MAX_TURNS];
+        for (int position = 0; position < 3; position++) {
+            Game game = Perft.gameAt(Perft.opening("None", "None"));
+            for (int played = 0; played < 6 + 2 * position; played++) {
+                int count = game.generateTurns(buffer);
+                int turn = buffer[random.nextInt(count)];
+                if (Turn.isWin(turn)) {
+                    break;
+                }
+                assertTrue(game.makeTurn(turn));
+            }
+            int expected = negamaxRoot(game, 3);
+            assertEquals(expected, new AlphaBeta(null).search(game, 60_000, 3).getScore());
+            assertEquals(expected, new AlphaBeta(new TranspositionTable(1)).search(game, 60_000, 3).getScore());
+        }
+    }
+
+    @Test
+    public void testBudgetCutsOffDeepening() {
+        Game game = Perft.gameAt(Perft.opening("None", "None"));
+        AlphaBeta.Result result = new AlphaBeta().search(game, 1);
+        assertTrue("Depth 1 always completes", result.getDepth() >= 1);
+        assertTrue(result.getDepth() < AlphaBeta.MAX_DEPTH);
+        assertTrue("The budget was ignored", result.getNanos() < 2_000_000_000L);
+        assertTrue(game.makeTurn(result.getTurn()));
+    }
+
+    /**
+     * Helper method for a plain negamax without pruning, scored the way AlphaBeta scores
+     *
+     * @param game  game at the root
+     * @param depth depth in turns
+     * @return best score for the side to move
+     */
+    private static int negamaxRoot(Game game, int depth) {
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        int count = game.generateTurns(turns);
+        int best = -AlphaBeta.WIN - 1;
+        for (int i = 0; i < count; i++) {
+            best = Math.max(best, negamaxTurn(game, turns[i], depth, 0));
+        }
+        return best;
+    }
+
+    private static int negamaxTurn(Game game, int turn, int depth, int ply) {
+        Player mover = game.getCurrentPlayer();
+        assertTrue(game.makeTurn(turn));
+        int score;
+        if (game.getGamePhase() == Game.GamePhase.GAME_OVER) {
+            String winner = game.getWinnerID();
+            score = mover.getPlayerID().equals(winner) ? AlphaBeta.WIN - ply - 1
+                    : winner == null ? 0 : -AlphaBeta.WIN + ply + 1;
+        } else {
+            score = -negamax(game, depth - 1, ply + 1);
+        }
+        game.unmakeTurn();
+        return score;
+    }
+
+    private static int negamax(Game game, int depth, int ply) {
+        if (depth == 0) {
+            return game.canWinNextMove(game.getCurrentPlayer()) ? AlphaBeta.WIN - ply - 1 : AlphaBeta.evaluate(game);
+        }
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        int count = game.generateTurns(turns);
+        if (count == 0) {
+            return -AlphaBeta.WIN + ply;
+        }
+        for (int i = 0; i < count; i++) {
+            if (Turn.isWin(turns[i])) {
+                return AlphaBeta.WIN - ply - 1;
+            }
+        }
+        int best = -AlphaBeta.WIN - 1;
+        for (int i = 0; i < count; i++) {
+            best = Math.max(best, negamaxTurn(game, turns[i], depth, ply));
+        }
+        return best;
+    }
+}
@@ -1,6 +1,5 @@
 package org.example;
 
-import org.example.Exceptions.IllegalMoveException;
 import org.example.godcards.Apollo;
 import org.junit.Test;
 import org.junit.Before;
@@ -31,20 +30,25 @@ public class ApolloTest {
         board = game.getBoard();
         apollo = new Apollo();
         game.getGodCards().put(player1, apollo);
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
     }
 
     @Test
     public void testApolloValidSwap() {
         board.placeWorkerAt(worker1, new BoardPosition(1, 1));
         board.placeWorkerAt(worker2, new BoardPosition(1, 2));
+        game.setCurrentWorker(worker1);
 
         // Check if Apollo can swap places with an opponent worker
-        assertTrue("Apollo should be able to swap places with an opponent worker", apollo.modifyMoveValidation(worker1, new BoardPosition(1, 1), new BoardPosition(1, 2), board));
-        apollo.preMoveExecution(worker1, new BoardPosition(1, 1), new BoardPosition(1, 2), board);
-        apollo.postMoveExecution(game, worker1, new BoardPosition(1, 1), new BoardPosition(1, 2));
+        int action = game.prepareMove(new BoardPosition(1, 2));
+        assertFalse("Apollo should be able to swap places with an opponent worker", Action.isRejected(action));
+        assertEquals("The swap target is part of the token", board.cellOf(new BoardPosition(1, 1)), Action.displacedCell(action));
+        game.executeAction(action);
 
         assertEquals("Worker1 should be at new position", new BoardPosition(1, 2), worker1.getPosition());
         assertEquals("Worker2 should be swapped to original position", new BoardPosition(1, 1), worker2.getPosition());
+        assertEquals(Game.GamePhase.BUILD, game.getGamePhase());
     }
 
     @Test
@@ -54,7 +58,7 @@ public class ApolloTest {
         board.placeWorkerAt(worker3, new BoardPosition(1, 2));
 
         // Apollo tries to swap with another worker of the same player
-        assertFalse("Apollo should not be able to swap with own worker", apollo.modifyMoveValidation(worker1, new BoardPosition(1, 1), new BoardPosition(1, 2), board));
+        assertFalse("Apollo should not be able to swap with own worker", canMove(worker1, new BoardPosition(1, 2)));
     }
 
     @Test
@@ -63,7 +67,7 @@ public class ApolloTest {
         board.placeWorkerAt(worker2, new BoardPosition(2, 3));
 
         // Apollo tries to swap with a non-adjacent worker
-        assertFalse("Apollo should not be able to swap with non-adjacent worker", apollo.modifyMoveValidation(worker1, new BoardPosition(1, 1), new BoardPosition(2, 3), board));
+        assertFalse("Apollo should not be able to swap with non-adjacent worker", canMove(worker1, new BoardPosition(2, 3)));
     }
 
     @Test
@@ -74,7 +78,7 @@ public class ApolloTest {
         board.getSquare(new BoardPosition(1, 2)).buildBlock();  // Worker2 is now two levels higher than Worker1
 
         // Apollo tries to swap but the target is too high
-        assertFalse("Apollo should not be able to swap into a higher level more than one above its own", apollo.modifyMoveValidation(worker1, new BoardPosition(1, 1), new BoardPosition(1, 2), board));
+        assertFalse("Apollo should not be able to swap into a higher level more than one above its own", canMove(worker1, new BoardPosition(1, 2)));
     }
 
     @Test
@@ -82,6 +86,37 @@ public class ApolloTest {
         board.placeWorkerAt(worker1, new BoardPosition(1, 1));
 
         // Apollo makes a normal move without swapping
-        assertTrue("Apollo should be able to make normal moves", apollo.modifyMoveValidation(worker1, new BoardPosition(1, 1), new BoardPosition(1, 0), board));
+        assertTrue("Apollo should be able to make normal moves", canMove(worker1, new BoardPosition(1, 0)));
+    }
+
+    @Test
+    public void testUnmakeApolloSwap() {
+        Worker a1 = player1.getWorkers().get(0);
+        Worker b1 = player2.getWorkers().get(0);
+        board.placeWorkerAt(a1, new BoardPosition(1, 1));
+        board.placeWorkerAt(b1, new BoardPosition(1, 2));
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+
+        assertTrue(game.makeMove(a1, new BoardPosition(1, 2)));
+        assertEquals(new BoardPosition(1, 1), b1.getPosition());
+
+        game.unmakeAction();
+        assertEquals("Apollo worker should be back", new BoardPosition(1, 1), a1.getPosition());
+        assertEquals("Swapped worker should be back", new BoardPosition(1, 2), b1.getPosition());
+        assertEquals(a1, board.getSquare(new BoardPosition(1, 1)).getOccupiedWorker());
+        assertEquals(b1, board.getSquare(new BoardPosition(1, 2)).getOccupiedWorker());
+    }
+
+    /**
+     * Helper method to validate a move of the given worker through the game's action tokens
+     *
+     * @param worker worker that moves
+     * @param to     position to move to
+     * @return true if the game accepts the move
+     */
+    private boolean canMove(Worker worker, BoardPosition to) {
+        game.setCurrentWorker(worker);
+        return !Action.isRejected(game.prepareMove(to));
     }
 }
@@ -0,0 +1,112 @@
+package org.example;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class BitBoardTest {
+    private BitBoard bits;
+
+    @Before
+    public void setUp() {
+        bits = new BitBoard();
+    }
+
+    @Test
+    public void testNeighbourMasks() {
+        assertEquals("Corner should have three neighbours", 3, Long.bitCount(BitBoard.neighbours(BitBoard.indexOf(0, 0))));
+        assertEquals("Edge should have five neighbours", 5, Long.bitCount(BitBoard.neighbours(BitBoard.indexOf(2, 0))));
+        assertEquals("Centre should have eight neighbours", 8, Long.bitCount(BitBoard.neighbours(BitBoard.indexOf(2, 2))));
+        assertEquals("A cell is not its own neighbour", 0, BitBoard.neighbours(12) & BitBoard.bit(12));
+    }
+
+    @Test
+    public void testBuildLevelsAndDome() {
+        int cell = BitBoard.indexOf(3, 1);
+        assertFalse("Dome needs three levels", bits.placeDome(cell));
+        assertTrue(bits.buildLevel(cell));
+        assertTrue(bits.buildLevel(cell));
+        assertTrue(bits.buildLevel(cell));
+        assertEquals(3, bits.getHeight(cell));
+        assertFalse("A fourth level should be rejected", bits.buildLevel(cell));
+        assertTrue(bits.placeDome(cell));
+        assertTrue(bits.hasDome(cell));
+        assertFalse("A second dome should be rejected", bits.placeDome(cell));
+    }
+
+    @Test
+    public void testMoveTargetsRespectHeightDomeAndOccupancy() {
+        int from = BitBoard.indexOf(2, 2);
+        int high = BitBoard.indexOf(2, 1);
+        int domed = BitBoard.indexOf(3, 2);
+        int occupied = BitBoard.indexOf(1, 2);
+        bits.buildLevel(high);
+        bits.buildLevel(high);
+        for (int i = 0; i < 3; i++) {
+            bits.buildLevel(domed);
+        }
+        bits.placeDome(domed);
+        bits.setOccupied(occupied, true);
+
+        long targets = bits.moveTargets(from);
+        assertEquals(5, Long.bitCount(targets));
+        assertFalse("Two levels up is too high", bits.isMoveLegal(from, high));
+        assertFalse("Domes block moves", bits.isMoveLegal(from, domed));
+        assertFalse("Occupied cells block moves", bits.isMoveLegal(from, occupied));
+        assertTrue("Occupied cells can still be climbed onto by special powers", (bits.climbTargets(from) & BitBoard.bit(occupied)) != 0);
+
+        bits.buildLevel(from);
+        assertTrue("One level up is fine", bits.isMoveLegal(from, high));
+    }
+
+    @Test
+    public void testBuildTargetsSkipDomesAndWorkers() {
+        int from = BitBoard.indexOf(0, 0);
+        bits.setOccupied(BitBoard.indexOf(1, 0), true);
+        assertEquals(2, Long.bitCount(bits.buildTargets(from)));
+        assertFalse(bits.isBuildLegal(from, BitBoard.indexOf(1, 0)));
+        assertTrue(bits.isBuildLegal(from, BitBoard.indexOf(1, 1)));
+    }
+
+    @Test
+    public void testClimbToThirdLevel() {
+        int from = BitBoard.indexOf(1, 1);
+        int to = BitBoard.indexOf(1, 2);
+        bits.buildLevel(from);
+        bits.buildLevel(from);
+        bits.buildLevel(to);
+        bits.buildLevel(to);
+        assertFalse(bits.isClimbToThirdLevel(from, to));
+        bits.buildLevel(to);
+        assertTrue(bits.isClimbToThirdLevel(from, to));
+        assertFalse("Stepping down from the third level is not a climb", bits.isClimbToThirdLevel(to, from));
+    }
+
+    @Test
+    public void testZobristKeyFollowsBuildsAndTakeBacks() {
+        int a = BitBoard.indexOf(0, 0);
+        int b = BitBoard.indexOf(3, 2);
+        assertEquals(0L, bits.getZobristKey());
+        bits.buildLevel(a);
+        bits.buildLevel(b);
+        long key = bits.getZobristKey();
+
+        BitBoard other = new BitBoard();
+        other.buildLevel(b);
+        other.buildLevel(a);
+        assertEquals("Build order should not change the key", key, other.getZobristKey());
+
+        bits.buildLevel(a);
+        assertNotEquals(key, bits.getZobristKey());
+        bits.removeTopPiece(a);
+        assertEquals("Taking a build back should restore the key", key, bits.getZobristKey());
+    }
+}
@@ -5,6 +5,9 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertNotSame;
 
 /**
  * @author Lu Wang
@@ -63,5 +66,18 @@ public class BoardPositionTest {
         assertFalse("Positions with different coordinates should not be equal.", position1.equals(position2));
     }
 
-}
+    @Test
+    public void testOfReturnsInternedInstances() {
+        assertSame("On-board positions should be interned", BoardPosition.of(3, 2), BoardPosition.of(3, 2));
+        assertSame("Index and coordinate factories should agree", BoardPosition.of(3, 2), BoardPosition.ofIndex(13));
+        assertEquals("Interned position should equal a constructed one", new BoardPosition(3, 2), BoardPosition.of(3, 2));
+        assertEquals(new BoardPosition(3, 2).hashCode(), BoardPosition.of(3, 2).hashCode());
+    }
 
+    @Test
+    public void testOffBoardPositionsAreNotInterned() {
+        BoardPosition offBoard = BoardPosition.of(5, 5);
+        assertNotSame(offBoard, BoardPosition.of(5, 5));
+        assertEquals("Off-board positions should have no cell index", -1, offBoard.getIndex());
+    }
+}
@@ -1,7 +1,5 @@
 package org.example;
 
-import org.example.Exceptions.IllegalBuildException;
-import org.example.Exceptions.IllegalMoveException;
 import org.junit.Test;
 import org.junit.Before;
 
@@ -65,45 +63,46 @@ public class BoardTest {
     }
 
     // Move worker
-    @Test(expected = IllegalMoveException.class)
-    public void testMoveWorkerToOccupiedSquare() throws IllegalMoveException {
+    @Test
+    public void testMoveWorkerToOccupiedSquare() {
         BoardPosition position1 = new BoardPosition(0, 0);
         BoardPosition position2 = new BoardPosition(0, 1);
         board.placeWorkerAt(worker1, position1);
         Worker worker2 = new Worker("A2", player);
         board.placeWorkerAt(worker2, position2);
-        board.moveWorkerTo(worker1, position2); // Should throw exception
+        assertEquals(RuleResult.OCCUPIED, board.moveWorkerTo(worker1, position2));
+        assertEquals("A refused move leaves the worker in place", position1, worker1.getPosition());
     }
 
-    @Test(expected = IllegalMoveException.class)
-    public void testMoveWorkerNonAdjacent() throws IllegalMoveException {
+    @Test
+    public void testMoveWorkerNonAdjacent() {
         board.placeWorkerAt(worker1, new BoardPosition(1, 1));
-        board.moveWorkerTo(worker1, new BoardPosition(4, 4)); // Non-adjacent move
+        assertEquals(RuleResult.NOT_ADJACENT, board.moveWorkerTo(worker1, new BoardPosition(4, 4))); // Non-adjacent move
     }
 
     @Test
-    public void testLegalMove() throws IllegalMoveException {
+    public void testLegalMove() {
         BoardPosition start = new BoardPosition(2, 2);
         BoardPosition end = new BoardPosition(3, 2);
         board.placeWorkerAt(worker1, start);
-        assertTrue("Move should be legal", board.moveWorkerTo(worker1, end));
+        assertEquals("Move should be legal", RuleResult.OK, board.moveWorkerTo(worker1, end));
     }
 
     // Build block
     @Test
-    public void testBuildAtMaxLevel() throws IllegalBuildException {
+    public void testBuildAtMaxLevel() {
         BoardPosition position = new BoardPosition(3, 3);
         board.placeWorkerAt(worker1, new BoardPosition(3, 2));
         // Simulate building to max level
         for (int i = 0; i < 3; i++) {
             board.buildAt(worker1, position);
         }
-        assertTrue("Move should succeed.", board.buildAt(worker1, position));
+        assertEquals("Move should succeed.", RuleResult.OK, board.buildAt(worker1, position));
     }
 
     // Build dome
     @Test
-    public void testBuildDomeAtThirdLevel() throws IllegalBuildException {
+    public void testBuildDomeAtThirdLevel() {
         BoardPosition position = new BoardPosition(4, 4);
         board.placeWorkerAt(worker1, new BoardPosition(4, 3));
         // Build to third level
@@ -111,56 +110,30 @@ public class BoardTest {
             board.buildAt(worker1, position);
         }
         // Now try to place a dome
-        assertTrue("Should place a dome", board.buildAt(worker1, position));
+        assertEquals("Should place a dome", RuleResult.OK, board.buildAt(worker1, position));
     }
 
-    @Test(expected = IllegalBuildException.class)
-    public void testBuildOnDome() throws IllegalBuildException {
+    @Test
+    public void testBuildOnDome() {
         BoardPosition pos = new BoardPosition(0, 0);
         board.getSquare(pos).buildBlock(); // Level 1
         board.getSquare(pos).buildBlock(); // Level 2
         board.getSquare(pos).buildBlock(); // Level 3
         board.getSquare(pos).placeDome();
         board.placeWorkerAt(worker1, new BoardPosition(0, 1));
-        board.buildAt(worker1, pos);
-    }
-
-    // Push opponent worker
-    @Test
-    public void testPushOpponentWorker_Valid() {
-        board.placeWorkerAt(worker1, new BoardPosition(2, 2));
-        board.placeWorkerAt(opponentWorker, new BoardPosition(2, 3));
-        assertTrue("Should successfully push the opponent worker", board.pushOpponentWorker(opponentWorker, new BoardPosition(2, 4)));
-        assertNull("Old position should be empty", board.getSquare(new BoardPosition(2, 3)).getOccupiedWorker());
-        assertEquals("New position should be occupied by opponent worker", opponentWorker, board.getSquare(new BoardPosition(2, 4)).getOccupiedWorker());
-    }
-
-    @Test
-    public void testPushOpponentWorker_Invalid_OutOfBounds() {
-        board.placeWorkerAt(worker1, new BoardPosition(2, 2));
-        board.placeWorkerAt(opponentWorker, new BoardPosition(2, 3));
-        assertFalse("Should fail to push out of bounds", board.pushOpponentWorker(opponentWorker, new BoardPosition(5, 5)));
-    }
-
-    @Test
-    public void testPushOpponentWorker_Invalid_Occupied() {
-        board.placeWorkerAt(worker1, new BoardPosition(2, 2));
-        board.placeWorkerAt(opponentWorker, new BoardPosition(2, 3));
-        board.placeWorkerAt(worker2, new BoardPosition(2, 4)); // Place another worker where we want to push
-        assertFalse("Should fail to push into occupied square", board.pushOpponentWorker(opponentWorker, new BoardPosition(2, 4)));
+        assertEquals(RuleResult.DOMED, board.buildAt(worker1, pos));
     }
 
     @Test
-    public void testPushOpponentWorker_Invalid_HasDome() throws IllegalBuildException {
-        board.placeWorkerAt(worker1, new BoardPosition(2, 2));
-        board.placeWorkerAt(opponentWorker, new BoardPosition(2, 3));
-        BoardPosition pushToPosition = new BoardPosition(2, 4);
-        // Place a dome at the target position
-        board.buildAt(opponentWorker, pushToPosition); // Level 1
-        board.buildAt(opponentWorker, pushToPosition); // Level 2
-        board.buildAt(opponentWorker, pushToPosition); // Level 3
-        board.buildAt(opponentWorker, pushToPosition); // Place a dome
-        assertFalse("Should fail to push into a square with a dome", board.pushOpponentWorker(opponentWorker, new BoardPosition(2, 4)));
+    public void testRuleChecksNameTheBrokenRule() {
+        board.placeWorkerAt(worker1, new BoardPosition(0, 0));
+        BoardPosition high = new BoardPosition(1, 1);
+        board.getSquare(high).buildBlock();
+        board.getSquare(high).buildBlock();
+        assertEquals(RuleResult.TOO_HIGH, board.checkMove(worker1.getPosition(), high));
+        assertEquals("A tall tower can still be built on", RuleResult.OK, board.checkBuild(worker1.getPosition(), high));
+        assertEquals(RuleResult.OFF_BOARD, board.checkMove(worker1.getPosition(), new BoardPosition(-1, 0)));
+        assertEquals(RuleResult.NOT_ADJACENT, board.checkBuild(worker1.getPosition(), worker1.getPosition()));
     }
 
     // Update worker position
@@ -211,12 +184,123 @@ public class BoardTest {
         board.getSquare(targetPosition).buildBlock(); // Second level
         board.getSquare(targetPosition).buildBlock(); // Third level
 
-        // Push opponent worker onto the third level
-        board.pushOpponentWorker(opponentWorker, targetPosition);
+        // Put opponent worker onto the third level, as a Minotaur push would
+        board.updateWorkerPosition(opponentWorker, targetPosition);
 
         // Check if the push is considered as climbing by the worker's own move
         assertFalse("Pushing to third level should not count as self-climbing",
                 board.hasWorkerClimbToThirdLevelByItsOwn(opponentWorker, oldPosition, targetPosition));
     }
-}
 
+    // Worker slots are the single record of positions
+    @Test
+    public void testWorkerAndSquareReadTheSameSlot() {
+        BoardPosition from = new BoardPosition(2, 2);
+        BoardPosition to = new BoardPosition(2, 3);
+        board.placeWorkerAt(worker1, from);
+        worker1.setPosition(to); // routed through the board once the worker is placed
+
+        assertEquals(to, worker1.getPosition());
+        assertEquals(worker1, board.getSquare(to).getOccupiedWorker());
+        assertNull(board.getSquare(from).getOccupiedWorker());
+        assertFalse(board.getSquare(from).getIsOccupied());
+        assertEquals(worker1, board.getWorkerAt(BitBoard.indexOf(2, 3)));
+    }
+
+    @Test
+    public void testSquareWritesGoThroughSlots() {
+        BoardPosition position = new BoardPosition(0, 4);
+        board.getSquare(position).setOccupiedWorker(worker2);
+        assertEquals(position, worker2.getPosition());
+
+        board.getSquare(position).setOccupiedWorker(null);
+        assertNull(worker2.getPosition());
+        assertFalse(board.getSquare(position).getIsOccupied());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBoardHoldsFourWorkers() {
+        board.placeWorkerAt(worker1, new BoardPosition(0, 0));
+        board.placeWorkerAt(worker2, new BoardPosition(1, 0));
+        board.placeWorkerAt(opponentWorker, new BoardPosition(2, 0));
+        board.placeWorkerAt(new Worker("B2", opponentPlayer), new BoardPosition(3, 0));
+        board.placeWorkerAt(new Worker("C1", new Player("C")), new BoardPosition(4, 0));
+    }
+
+    @Test
+    public void testSquaresAreViewsOverSharedStorage() {
+        BoardPosition position = new BoardPosition(4, 1);
+        board.getSquare(position).buildBlock();
+        board.getSquare(position).getTower().buildLevel();
+        assertEquals(2, board.getSquare(position).getBuildingLevel());
+        assertEquals(2, board.getSquare(position).getTower().getLevels());
+        assertEquals(2, board.getBitBoard().getHeight(BitBoard.indexOf(4, 1)));
+    }
+
+    @Test
+    public void testSevenBySevenBoard() {
+        Board large = new Board(player, 7, 7);
+        BoardPosition farCorner = new BoardPosition(6, 6);
+        assertFalse(large.isOutOfBounds(farCorner));
+        assertTrue(large.isOutOfBounds(new BoardPosition(7, 0)));
+        assertTrue(large.placeWorkerAt(worker1, farCorner));
+        assertEquals(48, large.cellOf(farCorner));
+        assertEquals(3, Long.bitCount(large.getBitBoard().moveTargets(48)));
+        assertTrue(large.isMoveLegal(worker1, farCorner, new BoardPosition(5, 5)));
+        assertEquals(farCorner, worker1.getPosition());
+    }
+
+    @Test
+    public void testMobilityFollowsBuildsAndMoves() {
+        Board sided = new Board(player);
+        Worker opponent = new Worker("B1", new Player("B"));
+        sided.placeWorkerAt(worker1, new BoardPosition(0, 0));
+        assertEquals(3, sided.getMoveCount(0));
+        assertEquals(3, sided.getBuildCount(0));
+        assertEquals(0, sided.getMoveCount(1));
+
+        sided.getSquare(new BoardPosition(1, 1)).buildBlock();
+        sided.getSquare(new BoardPosition(1, 1)).buildBlock();
+        assertEquals("A two-level tower cannot be climbed", 2, sided.getMoveCount(0));
+        assertEquals("but can still be built on", 3, sided.getBuildCount(0));
+
+        sided.placeWorkerAt(opponent, new BoardPosition(1, 0));
+        assertEquals(1, sided.getMoveCount(0));
+        assertEquals(1, sided.getWorkerCount(1));
+        assertEquals(3, sided.getMoveCount(1));
+
+        sided.updateWorkerPosition(opponent, new BoardPosition(3, 0));
+        assertEquals(2, sided.getMoveCount(0));
+        sided.removeWorker(worker1);
+        assertEquals(0, sided.getMoveCount(0));
+        assertEquals(0, sided.getWorkerCount(0));
+    }
+
+    @Test
+    public void testWinThreatsFollowBuildsAndMoves() {
+        Board sided = new Board(player);
+        BoardPosition start = new BoardPosition(2, 2);
+        BoardPosition tower = new BoardPosition(3, 2);
+        sided.getSquare(start).buildBlock();
+        sided.getSquare(start).buildBlock();
+        sided.placeWorkerAt(worker1, start);
+        sided.getSquare(tower).buildBlock();
+        sided.getSquare(tower).buildBlock();
+        assertEquals(0, sided.getWinningClimbs(0));
+        assertEquals("Level-2 worker can drop to the ground around it", 7, Long.bitCount(sided.getWinningDrops(0)));
+
+        sided.getSquare(tower).buildBlock();
+        assertEquals(BitBoard.bit(sided.cellOf(tower)), sided.getWinningClimbs(0));
+        assertEquals(0, sided.getWinningClimbs(1));
+
+        sided.placeWorkerAt(opponentWorker, tower);
+        assertEquals("An occupied level 3 is no threat", 0, sided.getWinningClimbs(0));
+        sided.updateWorkerPosition(opponentWorker, new BoardPosition(0, 0));
+        assertEquals(BitBoard.bit(sided.cellOf(tower)), sided.getWinningClimbs(0));
+
+        sided.getSquare(tower).placeDome();
+        assertEquals("A domed tower is no threat", 0, sided.getWinningClimbs(0));
+        sided.updateWorkerPosition(worker1, new BoardPosition(1, 1));
+        assertEquals(0, sided.getWinningDrops(0));
+    }
+}
@@ -29,6 +29,8 @@ public class DemeterTest {
         board = game.getBoard();
         demeter = new Demeter();
         game.getGodCards().put(player1, demeter);
+        game.setGamePhase(Game.GamePhase.BUILD);
+        game.setPlayerAction(Game.PlayerAction.BUILD);
     }
 
     @Test
@@ -42,14 +44,14 @@ public class DemeterTest {
 
         // Activate Demeter effect
         demeter.activateEffect(game);
-        assertTrue("First build should be allowed", demeter.modifyBuildValidation(worker1, firstBuildPosition, board));
+        assertTrue("First build should be allowed", canBuild(worker1, firstBuildPosition));
         demeter.postBuildExecution(game, worker1, firstBuildPosition);
 
         // Verify entering second build phase
         assertEquals("Should be in SECOND_BUILD phase", Game.GamePhase.SECOND_BUILD, game.getGamePhase());
 
         // Second build should be allowed on a different position
-        assertTrue("Second build should be allowed on a different space", demeter.modifyBuildValidation(worker1, secondBuildPosition, board));
+        assertTrue("Second build should be allowed on a different space", canBuild(worker1, secondBuildPosition));
     }
 
     @Test
@@ -62,11 +64,11 @@ public class DemeterTest {
 
         // Activate Demeter effect
         demeter.activateEffect(game);
-        assertTrue("First build should be allowed", demeter.modifyBuildValidation(worker1, buildPosition, board));
+        assertTrue("First build should be allowed", canBuild(worker1, buildPosition));
         demeter.postBuildExecution(game, worker1, buildPosition);
 
         // Second build should not be allowed on the same space
-        assertFalse("Second build should not be allowed on the same space", demeter.modifyBuildValidation(worker1, buildPosition, board));
+        assertFalse("Second build should not be allowed on the same space", canBuild(worker1, buildPosition));
     }
 
     @Test
@@ -77,7 +79,7 @@ public class DemeterTest {
         board.placeWorkerAt(worker1, new BoardPosition(1, 0));
 
         demeter.activateEffect(game);
-        assertTrue("First build should be allowed", demeter.modifyBuildValidation(worker1, buildPosition, board));
+        assertTrue("First build should be allowed", canBuild(worker1, buildPosition));
         demeter.postBuildExecution(game, worker1, buildPosition);
         demeter.deactivateEffect(game);
 
@@ -93,7 +95,7 @@ public class DemeterTest {
 
         // Activate Demeter effect
         demeter.activateEffect(game);
-        assertTrue("First build should be allowed", demeter.modifyBuildValidation(worker1, firstBuildPosition, board));
+        assertTrue("First build should be allowed", canBuild(worker1, firstBuildPosition));
         demeter.postBuildExecution(game, worker1, firstBuildPosition);
 
         // Ensure the game phase is correctly set for a second build
@@ -111,4 +113,72 @@ public class DemeterTest {
         assertFalse("Demeter's hasBuiltOnce should be reset", demeter.getHasBuiltOnce());
     }
 
+    @Test
+    public void testSkippingSecondBuildStillEndsBlockedGame() {
+        Worker a1 = player1.getWorkers().get(0);
+        Worker b1 = player2.getWorkers().get(0);
+        board.placeWorkerAt(a1, new BoardPosition(2, 1));
+        board.placeWorkerAt(b1, new BoardPosition(0, 0)); // B's only placed worker, boxed into the corner
+        BoardPosition dome = new BoardPosition(0, 1);
+        for (int level = 0; level < 3; level++) {
+            board.getSquare(dome).buildBlock();
+        }
+        board.getSquare(dome).placeDome();
+        board.getSquare(new BoardPosition(1, 1)).buildBlock();
+        board.getSquare(new BoardPosition(1, 1)).buildBlock();
+        board.getSquare(new BoardPosition(1, 0)).buildBlock(); // B's last exit
+        game.setCurrentWorker(a1);
+
+        assertTrue(game.buildBlock(new BoardPosition(1, 0)));
+        assertEquals(Game.GamePhase.SECOND_BUILD, game.getGamePhase());
+        assertTrue(game.skipGodCardAction());
+        assertEquals("B cannot move after A skips the second build", Game.GamePhase.GAME_OVER, game.getGamePhase());
+        assertEquals("A", game.getWinnerID());
+    }
+
+    @Test
+    public void testSecondBuildMaskExcludesFirstBuild() {
+        BoardPosition firstBuildPosition = new BoardPosition(0, 0);
+        board.placeWorkerAt(worker1, new BoardPosition(1, 0));
+        demeter.activateEffect(game);
+        long before = game.calculateLegalBuildMask(worker1);
+        demeter.postBuildExecution(game, worker1, firstBuildPosition);
+
+        assertEquals(before & ~BitBoard.bit(firstBuildPosition.getIndex()), game.calculateLegalBuildMask(worker1));
+    }
+
+    @Test
+    public void testUnmakeSecondBuildRestoresDemeterState() {
+        Worker a1 = player1.getWorkers().get(0);
+        board.placeWorkerAt(a1, new BoardPosition(1, 0));
+        game.setGamePhase(Game.GamePhase.BUILD);
+        game.setPlayerAction(Game.PlayerAction.BUILD);
+        game.setCurrentWorker(a1);
+
+        assertTrue(game.makeBuild(new BoardPosition(0, 0)));
+        assertEquals(Game.GamePhase.SECOND_BUILD, game.getGamePhase());
+        assertTrue(game.makeBuild(new BoardPosition(0, 1)));
+
+        game.unmakeAction();
+        assertEquals(Game.GamePhase.SECOND_BUILD, game.getGamePhase());
+        assertEquals(0, board.getSquare(new BoardPosition(0, 1)).getBuildingLevel());
+        assertFalse("Demeter should still refuse the first build square", canBuild(a1, new BoardPosition(0, 0)));
+
+        game.unmakeAction();
+        assertEquals(Game.GamePhase.BUILD, game.getGamePhase());
+        assertEquals(0, board.getSquare(new BoardPosition(0, 0)).getBuildingLevel());
+        assertTrue("Demeter should accept any square again", canBuild(a1, new BoardPosition(0, 0)));
+    }
+
+    /**
+     * Helper method to validate a build of the given worker through the game's action tokens
+     *
+     * @param worker   worker that builds
+     * @param position position to build on
+     * @return true if the game accepts the build
+     */
+    private boolean canBuild(Worker worker, BoardPosition position) {
+        game.setCurrentWorker(worker);
+        return !Action.isRejected(game.prepareBuild(position));
+    }
 }
@@ -0,0 +1,59 @@
+package org.example;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class GameLogTest {
+    private ByteArrayOutputStream buffer;
+    private GameLog.Level previous;
+
+    @Before
+    public void setUp() {
+        previous = GameLog.getLevel();
+        buffer = new ByteArrayOutputStream();
+        GameLog.setOutput(new PrintStream(buffer, true));
+    }
+
+    @After
+    public void tearDown() {
+        GameLog.setLevel(previous);
+        GameLog.setOutput(System.out);
+    }
+
+    @Test
+    public void testDisabledLevelWritesNothing() {
+        GameLog.setLevel(GameLog.Level.INFO);
+        assertFalse(GameLog.isDebugEnabled());
+        GameLog.debug("Worker {} moved to {}", "A1", BoardPosition.of(1, 2));
+        assertEquals("", buffer.toString());
+    }
+
+    @Test
+    public void testPlaceholdersAreFilledInOrder() {
+        GameLog.setLevel(GameLog.Level.DEBUG);
+        assertTrue(GameLog.isEnabled(GameLog.Level.INFO));
+        GameLog.debug("Worker {} moved from {} to {}.", "A1", 3, 4);
+        assertEquals("Worker A1 moved from 3 to 4." + System.lineSeparator(), buffer.toString());
+    }
+
+    @Test
+    public void testBoardLogsThroughFacade() {
+        GameLog.setLevel(GameLog.Level.DEBUG);
+        Board board = new Board();
+        Worker worker = new Worker("A1", new Player("A"));
+        board.placeWorkerAt(worker, BoardPosition.of(0, 0));
+        assertTrue(buffer.toString().contains("A1 is placed at"));
+    }
+}
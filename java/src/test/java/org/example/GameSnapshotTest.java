@@ -0,0 +1,102 @@
+package org.example;
+
+import org.example.godcards.Demeter;
+import org.example.godcards.GodCardFactory;
+import org.junit.Test;
+import org.junit.Before;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class GameSnapshotTest {
+    private Game game;
+    private Player player1, player2;
+    private Worker a1, b1;
+
+    @Before
+    public void setUp() {
+        player1 = new Player("A");
+        player2 = new Player("B");
+        game = new Game(player1, player2);
+        a1 = player1.getWorkers().get(0);
+        b1 = player2.getWorkers().get(0);
+        game.getBoard().placeWorkerAt(a1, new BoardPosition(0, 0));
+        game.getBoard().placeWorkerAt(b1, new BoardPosition(4, 4));
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+    }
+
+    @Test
+    public void testSnapshotEncodesBoard() {
+        Square square = game.getBoard().getSquare(new BoardPosition(4, 3)); // cell 19, in the low word
+        square.buildBlock();
+        square.buildBlock();
+        Square domed = game.getBoard().getSquare(new BoardPosition(2, 4)); // cell 22, in the high word
+        domed.buildBlock();
+        domed.buildBlock();
+        domed.buildBlock();
+        domed.placeDome();
+
+        GameSnapshot snapshot = game.snapshot();
+        assertEquals(2, snapshot.getHeight(BitBoard.indexOf(4, 3)));
+        assertFalse(snapshot.hasDome(BitBoard.indexOf(4, 3)));
+        assertEquals(3, snapshot.getHeight(BitBoard.indexOf(2, 4)));
+        assertTrue(snapshot.hasDome(BitBoard.indexOf(2, 4)));
+        assertEquals(BitBoard.indexOf(0, 0), snapshot.getWorkerCell(0));
+        assertEquals(GameSnapshot.NO_CELL, snapshot.getWorkerCell(1));
+        assertEquals(BitBoard.indexOf(4, 4), snapshot.getWorkerCell(2));
+        assertEquals(Game.GamePhase.MOVE, snapshot.getGamePhase());
+        assertEquals(0, snapshot.getSideToMove());
+    }
+
+    @Test
+    public void testRestoreReturnsToSnapshot() {
+        GameSnapshot before = game.snapshot();
+        long key = game.getZobristKey();
+
+        assertTrue(game.makeMove(a1, new BoardPosition(1, 1)));
+        assertTrue(game.makeBuild(new BoardPosition(2, 2)));
+        assertEquals(1, game.snapshot().getSideToMove());
+
+        game.restore(before);
+        assertEquals(before, game.snapshot());
+        assertEquals(new BoardPosition(0, 0), a1.getPosition());
+        assertFalse(game.getBoard().getSquare(new BoardPosition(1, 1)).getIsOccupied());
+        assertEquals(0, game.getBoard().getSquare(new BoardPosition(2, 2)).getBuildingLevel());
+        assertEquals(player1, game.getCurrentPlayer());
+        assertEquals("Restoring should restore the Zobrist key", key, game.getZobristKey());
+        assertEquals(0, game.getUndoDepth());
+    }
+
+    @Test
+    public void testRestoreIntoAnotherGame() {
+        game.getGodCards().put(player1, new Demeter());
+        game.setGamePhase(Game.GamePhase.BUILD);
+        game.setPlayerAction(Game.PlayerAction.BUILD);
+        game.setCurrentWorker(a1);
+        assertTrue(game.buildBlock(new BoardPosition(1, 0)));
+        GameSnapshot snapshot = game.snapshot();
+        assertEquals(BitBoard.indexOf(1, 0), snapshot.getPendingBuildCell());
+        assertEquals(1, snapshot.getGodCard(0));
+
+        Game copy = new Game(new Player("A"), new Player("B"));
+        copy.restore(GameSnapshot.of(snapshot.getLow(), snapshot.getHigh()));
+        assertEquals(snapshot, copy.snapshot());
+        assertEquals(Game.GamePhase.SECOND_BUILD, copy.getGamePhase());
+        Demeter demeter = (Demeter) copy.getGodCardForPlayer(copy.getCurrentPlayer());
+        assertEquals(new BoardPosition(1, 0), demeter.getLastBuildPosition());
+        assertNull(copy.getGodCards().get(copy.getPlayers().get(1)));
+        assertEquals(GodCardFactory.NONE, copy.snapshot().getGodCard(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSnapshotRejectsOtherBoardSizes() {
+        new Game(new Player("A"), new Player("B"), 7, 7).snapshot();
+    }
+}
@@ -1,12 +1,18 @@
 package org.example;
 
+import org.example.godcards.Demeter;
+import org.example.godcards.Minotaur;
 import org.junit.Test;
 import org.junit.Before;
 
+import java.nio.ByteBuffer;
+
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 
 /**
  * @author Lu Wang
@@ -52,6 +58,26 @@ public class GameTest {
         assertEquals("Worker should be at position (0,0)", position, worker1.getPosition());
     }
 
+    @Test
+    public void testPlacementVisitsWorkersByIndex() {
+        for (int index = 0; index < 4; index++) {
+            assertEquals(game.getWorker(index), game.getCurrentWorker());
+            assertEquals(game.getPlayer(index >> 1), game.getCurrentPlayer());
+            assertTrue(game.placeWorker(game.getCurrentWorker(), new BoardPosition(index, 0)));
+        }
+        assertEquals(Game.GamePhase.MOVE, game.getGamePhase());
+        assertEquals(player1, game.getCurrentPlayer());
+    }
+
+    @Test
+    public void testSelectWorkerByIndex() {
+        game.setGamePhase(Game.GamePhase.MOVE);
+        assertFalse("Cannot select the opponent's worker", game.selectWorker(2));
+        assertFalse("Cannot select a worker that does not exist", game.selectWorker(4));
+        assertTrue(game.selectWorker(1));
+        assertEquals(player1.getWorkers().get(1), game.getCurrentWorker());
+    }
+
     @Test
     public void testPlaceWorkerFailureOutOfPhase() {
         game.setGamePhase(Game.GamePhase.MOVE); // Incorrect phase for placing workers
@@ -102,6 +128,363 @@ public class GameTest {
         assertEquals("Player should win if moving to third level", player1.getPlayerID(), game.getWinnerID());
     }
 
+    // Allocation-free generation
+    @Test
+    public void testLegalMoveMaskMatchesListAndBuffer() {
+        worker1.setPosition(new BoardPosition(0, 0));
+        game.getBoard().getSquare(new BoardPosition(1, 1)).buildBlock();
+        game.getBoard().getSquare(new BoardPosition(1, 1)).buildBlock(); // too high to climb
 
-}
+        long mask = game.calculateLegalMoveMask(worker1);
+        int[] targets = new int[8];
+        int count = game.calculateLegalMovesForWorker(worker1, targets);
+
+        assertEquals("Two neighbours should be reachable", 2, Long.bitCount(mask));
+        assertEquals(2, count);
+        assertEquals(mask, game.getBoard().maskOf(game.calculateLegalMovesForWorker(worker1)));
+        assertEquals(BitBoard.bit(targets[0]) | BitBoard.bit(targets[1]), mask);
+    }
+
+    @Test
+    public void testLegalBuildMaskSkipsOccupiedSquares() {
+        game.getBoard().placeWorkerAt(worker1, new BoardPosition(0, 0));
+        game.getBoard().placeWorkerAt(worker2, new BoardPosition(0, 1));
+        assertEquals(BitBoard.bit(BitBoard.indexOf(1, 0)) | BitBoard.bit(BitBoard.indexOf(1, 1)), game.calculateLegalBuildMask(worker1));
+    }
+
+    // Make / unmake
+    @Test
+    public void testUnmakeMoveAndBuildRestoresState() {
+        Worker a1 = player1.getWorkers().get(0);
+        Worker b1 = player2.getWorkers().get(0);
+        game.getBoard().placeWorkerAt(a1, new BoardPosition(0, 0));
+        game.getBoard().placeWorkerAt(b1, new BoardPosition(4, 4));
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+
+        assertTrue(game.makeMove(a1, new BoardPosition(1, 1)));
+        assertTrue(game.makeBuild(new BoardPosition(2, 2)));
+        assertEquals(2, game.getUndoDepth());
+        assertEquals(1, game.getBoard().getSquare(new BoardPosition(2, 2)).getBuildingLevel());
+
+        game.unmakeAction();
+        assertEquals("Build should be taken back", 0, game.getBoard().getSquare(new BoardPosition(2, 2)).getBuildingLevel());
+        assertEquals(Game.GamePhase.BUILD, game.getGamePhase());
+        assertEquals(player1, game.getCurrentPlayer());
+
+        game.unmakeAction();
+        assertEquals("Move should be taken back", new BoardPosition(0, 0), a1.getPosition());
+        assertTrue(game.getBoard().getSquare(new BoardPosition(0, 0)).getIsOccupied());
+        assertFalse(game.getBoard().getSquare(new BoardPosition(1, 1)).getIsOccupied());
+        assertEquals(Game.GamePhase.MOVE, game.getGamePhase());
+        assertEquals(0, game.getUndoDepth());
+    }
+
+    @Test
+    public void testFailedMakeMoveRecordsNothing() {
+        Worker a1 = player1.getWorkers().get(0);
+        game.getBoard().placeWorkerAt(a1, new BoardPosition(0, 0));
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+
+        assertFalse(game.makeMove(a1, new BoardPosition(3, 3)));
+        assertEquals(0, game.getUndoDepth());
+        assertEquals(new BoardPosition(0, 0), a1.getPosition());
+    }
+
+    // Zobrist key
+    @Test
+    public void testZobristKeyRestoredByUnmake() {
+        Worker a1 = player1.getWorkers().get(0);
+        Worker b1 = player2.getWorkers().get(0);
+        game.getBoard().placeWorkerAt(a1, new BoardPosition(0, 0));
+        game.getBoard().placeWorkerAt(b1, new BoardPosition(4, 4));
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+        long key = game.getZobristKey();
+
+        assertTrue(game.makeMove(a1, new BoardPosition(1, 1)));
+        long afterMove = game.getZobristKey();
+        assertNotEquals(key, afterMove);
+        assertTrue(game.makeBuild(new BoardPosition(2, 2)));
+        assertNotEquals("Side to move and the new block should change the key", afterMove, game.getZobristKey());
+
+        game.unmakeAction();
+        assertEquals(afterMove, game.getZobristKey());
+        game.unmakeAction();
+        assertEquals(key, game.getZobristKey());
+    }
+
+    @Test
+    public void testZobristKeyIgnoresMoveOrder() {
+        Game other = new Game(player1, player2);
+        Worker a1 = player1.getWorkers().get(0);
+        Worker a2 = player1.getWorkers().get(1);
+        game.getBoard().placeWorkerAt(a1, new BoardPosition(0, 0));
+        game.getBoard().placeWorkerAt(a2, new BoardPosition(2, 0));
+        long key = game.getZobristKey();
+        game.getBoard().removeWorker(a1);
+        game.getBoard().removeWorker(a2);
+
+        other.getBoard().placeWorkerAt(a2, new BoardPosition(2, 0));
+        other.getBoard().placeWorkerAt(a1, new BoardPosition(0, 0));
+        assertEquals(key, other.getZobristKey());
+    }
+
+    @Test
+    public void testBlockedPlayerLosesAtTurnStart() {
+        Board board = game.getBoard();
+        board.placeWorkerAt(player1.getWorkers().get(0), new BoardPosition(0, 0));
+        board.placeWorkerAt(player2.getWorkers().get(0), new BoardPosition(4, 4));
+        for (BoardPosition wall : new BoardPosition[]{new BoardPosition(3, 3), new BoardPosition(3, 4), new BoardPosition(4, 3)}) {
+            board.getSquare(wall).buildBlock();
+            board.getSquare(wall).buildBlock(); // two levels up is too high to climb
+        }
+        game.setGamePhase(Game.GamePhase.BUILD);
+
+        game.switchTurn();
+        assertEquals("A player who cannot move loses", Game.GamePhase.GAME_OVER, game.getGamePhase());
+        assertEquals(player1.getPlayerID(), game.getWinnerID());
+    }
+
+    @Test
+    public void testPlayerWithAMoveKeepsPlaying() {
+        Board board = game.getBoard();
+        board.placeWorkerAt(player1.getWorkers().get(0), new BoardPosition(0, 0));
+        board.placeWorkerAt(player2.getWorkers().get(0), new BoardPosition(4, 4));
+        board.getSquare(new BoardPosition(3, 3)).buildBlock();
+        game.setGamePhase(Game.GamePhase.BUILD);
+
+        game.switchTurn();
+        assertEquals(Game.GamePhase.MOVE, game.getGamePhase());
+        assertEquals(player2, game.getCurrentPlayer());
+    }
+
+    @Test
+    public void testWinThreatsIgnoreDropsWithoutPan() {
+        Board board = game.getBoard();
+        BoardPosition start = new BoardPosition(2, 2);
+        BoardPosition tower = new BoardPosition(2, 3);
+        board.getSquare(start).buildBlock();
+        board.getSquare(start).buildBlock();
+        board.placeWorkerAt(player1.getWorkers().get(0), start);
+        assertFalse("Dropping two levels only wins for Pan", game.canWinNextMove(player1));
 
+        for (int level = 0; level < 3; level++) {
+            board.getSquare(tower).buildBlock();
+        }
+        assertEquals(BitBoard.bit(board.cellOf(tower)), game.getWinningMoveMask(player1));
+        assertFalse(game.canWinNextMove(player2));
+    }
+
+    @Test
+    public void testPreparedMoveCarriesWinAndExecutesOnce() {
+        Board board = game.getBoard();
+        Worker a1 = player1.getWorkers().get(0);
+        BoardPosition start = new BoardPosition(2, 2);
+        BoardPosition tower = new BoardPosition(2, 3);
+        board.getSquare(start).buildBlock();
+        board.getSquare(start).buildBlock();
+        for (int level = 0; level < 3; level++) {
+            board.getSquare(tower).buildBlock();
+        }
+        board.placeWorkerAt(a1, start);
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+        game.setCurrentWorker(a1);
+
+        assertEquals(RuleResult.OFF_BOARD, Action.reason(game.prepareMove(new BoardPosition(-1, 2))));
+        assertEquals(RuleResult.NOT_ADJACENT, Action.reason(game.prepareMove(new BoardPosition(0, 0))));
+        int action = game.prepareMove(tower);
+        assertFalse(Action.isRejected(action));
+        assertEquals(board.cellOf(tower), Action.cell(action));
+        assertEquals(Action.NONE, Action.displacedCell(action));
+        assertTrue(Action.isWin(action));
+        assertEquals("Preparing a move does not change the game", start, a1.getPosition());
+
+        game.executeAction(action);
+        assertEquals(tower, a1.getPosition());
+        assertEquals(Game.GamePhase.GAME_OVER, game.getGamePhase());
+    }
+
+    @Test
+    public void testPreparedBuildPlacesDomeOnThirdLevel() {
+        Board board = game.getBoard();
+        Worker a1 = player1.getWorkers().get(0);
+        BoardPosition tower = new BoardPosition(1, 0);
+        for (int level = 0; level < 3; level++) {
+            board.getSquare(tower).buildBlock();
+        }
+        board.placeWorkerAt(a1, new BoardPosition(0, 0));
+        game.setGamePhase(Game.GamePhase.BUILD);
+        game.setPlayerAction(Game.PlayerAction.BUILD);
+        game.setCurrentWorker(a1);
+
+        int action = game.prepareBuild(tower);
+        assertTrue(Action.isBuild(action));
+        assertTrue(Action.isDome(action));
+        game.executeAction(action);
+        assertTrue(board.getSquare(tower).hasDome());
+        assertEquals("The turn passes after the build", player2, game.getCurrentPlayer());
+    }
+
+    @Test
+    public void testRefusedActionsNameTheReason() {
+        Worker a1 = player1.getWorkers().get(0);
+        Worker b1 = player2.getWorkers().get(0);
+        game.getBoard().placeWorkerAt(a1, new BoardPosition(0, 0));
+        game.getBoard().placeWorkerAt(b1, new BoardPosition(1, 0));
+        assertEquals("Nobody moves before the workers are placed", RuleResult.WRONG_PHASE,
+                Action.reason(game.prepareMove(new BoardPosition(0, 1))));
+
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+        game.setCurrentWorker(null);
+        assertEquals(RuleResult.NO_WORKER_SELECTED, Action.reason(game.prepareMove(new BoardPosition(0, 1))));
+        game.setCurrentWorker(b1);
+        assertEquals(RuleResult.NOT_YOUR_TURN, Action.reason(game.prepareMove(new BoardPosition(2, 0))));
+        game.setCurrentWorker(a1);
+        assertEquals(RuleResult.WRONG_PHASE, Action.reason(game.prepareBuild(new BoardPosition(0, 1))));
+        assertEquals(RuleResult.OCCUPIED, Action.reason(game.prepareMove(new BoardPosition(1, 0))));
+        assertFalse(game.moveWorker(new BoardPosition(1, 0)));
+        assertEquals(new BoardPosition(0, 0), a1.getPosition());
+    }
+
+    @Test
+    public void testMakeTurnRefusesWrongWinFlag() {
+        Game game = Perft.gameAt(Perft.opening("None", "None"));
+        GameSnapshot before = game.snapshot();
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        game.generateTurns(turns);
+        int turn = turns[0];
+        int forged = Turn.encode(Turn.workerSlot(turn), Turn.moveCell(turn), Turn.buildCell(turn),
+                Turn.secondBuildCell(turn), Turn.displacedCell(turn), true);
+
+        assertFalse(game.makeTurn(forged));
+        assertEquals(before, game.snapshot());
+        assertEquals(0, game.getUndoDepth());
+        assertTrue(game.makeTurn(turn));
+    }
+
+    @Test
+    public void testForkIsAnIndependentCopy() {
+        Game opening = Perft.gameAt(Perft.opening("Demeter", "Minotaur"));
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        opening.generateTurns(turns);
+        assertTrue(opening.makeTurn(turns[0]));
+
+        Game fork = opening.fork();
+        assertEquals(opening.getZobristKey(), fork.getZobristKey());
+        assertEquals(opening.getGamePhase(), fork.getGamePhase());
+        assertEquals(opening.getCurrentPlayer().getPlayerID(), fork.getCurrentPlayer().getPlayerID());
+        assertTrue(fork.getGodCardForPlayer(fork.getPlayer(1)) instanceof Minotaur);
+        assertNotSame(opening.getGodCardForPlayer(opening.getPlayer(1)), fork.getGodCardForPlayer(fork.getPlayer(1)));
+        for (int slot = 0; slot < 4; slot++) {
+            assertNotSame(opening.getWorker(slot), fork.getWorker(slot));
+            assertEquals(opening.getWorker(slot).getPosition(), fork.getWorker(slot).getPosition());
+        }
+        assertEquals("The fork starts with no history", 0, fork.getUndoDepth());
+        assertEquals(Perft.perft(opening, 2), Perft.perft(fork, 2));
+
+        long key = opening.getZobristKey();
+        int count = fork.generateTurns(turns);
+        assertTrue(fork.makeTurn(turns[count - 1]));
+        assertNotEquals(key, fork.getZobristKey());
+        assertEquals("Playing on the fork leaves the original alone", key, opening.getZobristKey());
+        fork.unmakeTurn();
+        assertEquals(key, fork.getZobristKey());
+    }
+
+    @Test
+    public void testForkCarriesPendingSecondBuild() {
+        Game game = Perft.gameAt(Perft.opening("Demeter", "None"));
+        assertTrue(game.makeMove(game.getWorker(0), new BoardPosition(1, 2)));
+        assertTrue(game.makeBuild(new BoardPosition(2, 2)));
+        assertEquals(Game.GamePhase.SECOND_BUILD, game.getGamePhase());
+
+        Game fork = game.fork();
+        Demeter demeter = (Demeter) fork.getGodCardForPlayer(fork.getPlayer(0));
+        assertTrue(demeter.getHasBuiltOnce());
+        assertEquals(new BoardPosition(2, 2), demeter.getLastBuildPosition());
+        assertEquals(fork.getWorker(0), fork.getCurrentWorker());
+        assertEquals(RuleResult.GOD_CARD_RULE, Action.reason(fork.prepareBuild(new BoardPosition(2, 2))));
+        assertTrue(fork.buildBlock(new BoardPosition(2, 1)));
+        assertEquals("The original is still waiting for its second build", Game.GamePhase.SECOND_BUILD, game.getGamePhase());
+    }
+
+    @Test
+    public void testReplayReachesRecordedPosition() {
+        GameSnapshot opening = Perft.opening("Minotaur", "Demeter");
+        Game recorder = Perft.gameAt(opening);
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        int[] record = new int[60];
+        int length = 0;
+        while (length < record.length && recorder.getGamePhase() == Game.GamePhase.MOVE) {
+            int count = recorder.generateTurns(turns);
+            record[length] = turns[(length * 7) % count];
+            assertTrue(recorder.makeTurn(record[length++]));
+        }
+
+        Game trusted = Perft.gameAt(opening);
+        assertEquals(length, trusted.replay(record, 0, length, false));
+        assertEquals(recorder.getZobristKey(), trusted.getZobristKey());
+        assertEquals(recorder.getGamePhase(), trusted.getGamePhase());
+        assertEquals(recorder.getWinnerID(), trusted.getWinnerID());
+
+        Game validated = Perft.gameAt(opening);
+        ByteBuffer buffer = ByteBuffer.allocate(length * Integer.BYTES);
+        for (int i = 0; i < length; i++) {
+            buffer.putInt(record[i]);
+        }
+        buffer.flip();
+        assertEquals(length, validated.replay(buffer, true));
+        assertEquals(0, buffer.remaining());
+        assertEquals(recorder.getZobristKey(), validated.getZobristKey());
+        assertEquals(0, validated.getUndoDepth());
+    }
+
+    @Test
+    public void testValidatedReplayStopsAtRefusedTurn() {
+        Game game = Perft.gameAt(Perft.opening("None", "None"));
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        game.generateTurns(turns);
+        long key = Perft.gameAt(Perft.opening("None", "None")).getZobristKey();
+        int[] record = {turns[0], turns[0]}; // the second turn moves the other player's worker
+
+        assertEquals(1, game.replay(record, 0, record.length, true));
+        assertEquals(game.getPlayer(1), game.getCurrentPlayer());
+        assertNotEquals(key, game.getZobristKey());
+    }
+
+    @Test
+    public void testValidatedReplayStopsAtForgedWin() {
+        Game game = Perft.gameAt(Perft.opening("None", "None"));
+        GameSnapshot before = game.snapshot();
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        game.generateTurns(turns);
+        int turn = turns[0];
+        int forged = Turn.encode(Turn.workerSlot(turn), Turn.moveCell(turn), Turn.buildCell(turn),
+                Turn.secondBuildCell(turn), Turn.displacedCell(turn), true);
+
+        assertEquals(0, game.replay(new int[]{forged, turns[1]}, 0, 2, true));
+        assertEquals(Game.GamePhase.MOVE, game.getGamePhase());
+        assertEquals(before, game.snapshot());
+    }
+
+    @Test
+    public void testValidatedReplayStopsAtCellOffTheBoard() {
+        Game game = Perft.gameAt(Perft.opening("None", "None"));
+        GameSnapshot before = game.snapshot();
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        game.generateTurns(turns);
+        int turn = turns[0];
+        int offMove = Turn.encode(0, 126, 0, Turn.NONE, Turn.NONE, false);
+        int offBuild = Turn.encode(Turn.workerSlot(turn), Turn.moveCell(turn), 120, Turn.NONE, Turn.NONE, false);
+
+        assertEquals(0, game.replay(new int[]{offMove, turn}, 0, 2, true));
+        assertEquals(0, game.replay(new int[]{offBuild, turn}, 0, 2, true));
+        assertEquals(Game.GamePhase.MOVE, game.getGamePhase());
+        assertEquals(0, game.getUndoDepth());
+        assertEquals(before, game.snapshot());
+    }
+}
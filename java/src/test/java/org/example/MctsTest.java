@@ -0,0 +1,103 @@
+package org.example;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class MctsTest {
+
+    @Test
+    public void testTakesImmediateWin() {
+        Game game = TacticalPositions.immediateWin();
+        Mcts.Result result = new Mcts(1, 1).search(game, 10_000, 200, 1, 1);
+        assertTrue(Turn.isWin(result.getTurn()));
+        assertEquals(game.getBoard().cellOf(TacticalPositions.WINNING_CELL), Turn.moveCell(result.getTurn()));
+        assertEquals(1.0, result.getWinRate(), 0);
+        assertEquals(200, result.getPlayouts());
+        assertEquals("A winning turn is the only child of the root", 200, result.getVisits());
+    }
+
+    @Test
+    public void testDomesOpponentsWinningCell() {
+        Game game = TacticalPositions.threatToBlock();
+        Mcts.Result result = new Mcts(7, 1).search(game, 60_000, 5_000, 1, 1);
+        assertEquals(game.getBoard().cellOf(TacticalPositions.THREAT_CELL), Turn.buildCell(result.getTurn()));
+    }
+
+    @Test
+    public void testVisitsAreSummedOverTrees() {
+        Game game = Perft.gameAt(Perft.opening("Minotaur", "Demeter"));
+        Mcts engine = new Mcts(3, 1);
+        Mcts.Result result = TacticalPositions.searchInPlace(game, () -> engine.search(game, 60_000, 4_000, 4, 2));
+        assertEquals(4_000, result.getPlayouts());
+        assertEquals("Each tree gets two threads", 2_000, engine.treeVisits(0));
+        assertEquals(2_000, engine.treeVisits(1));
+
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        int count = game.generateTurns(turns);
+        long total = 0;
+        long most = 0;
+        for (int i = 0; i < count; i++) {
+            long visits = engine.rootVisits(0, turns[i]) + engine.rootVisits(1, turns[i]);
+            total += visits;
+            most = Math.max(most, visits);
+        }
+        assertEquals("Every iteration visits one root turn", 4_000, total);
+        assertEquals(engine.rootVisits(0, result.getTurn()) + engine.rootVisits(1, result.getTurn()), result.getVisits());
+        assertEquals("The answer is the turn with the most visits over both trees", most, result.getVisits());
+        assertTrue(game.makeTurn(result.getTurn()));
+    }
+
+    @Test
+    public void testVirtualLossSpreadsThreads() {
+        NodeArena arena = new NodeArena(1);
+        int root = arena.allocateRoot();
+        assertTrue(arena.expand(root, new int[]{10, 11, 12}, 3));
+        int first = arena.firstChild(root);
+
+        // Two threads leave a freshly expanded node before either playout returns
+        arena.visit(root);
+        int a = Mcts.select(arena, root, first, 3);
+        arena.visit(a);
+        arena.visit(root);
+        int b = Mcts.select(arena, root, first, 3);
+        assertNotEquals("A child with a playout under way is no longer unvisited", a, b);
+
+        // Every child has won once; the one a thread is still playing out looks like a loss to the next
+        arena.credit(a, Mcts.WIN_REWARD);
+        arena.visit(b);
+        arena.credit(b, Mcts.WIN_REWARD);
+        arena.visit(root);
+        int c = Mcts.select(arena, root, first, 3);
+        arena.visit(c);
+        arena.credit(c, Mcts.WIN_REWARD);
+        arena.visit(root);
+        int d = Mcts.select(arena, root, first, 3);
+        arena.visit(d);
+        arena.visit(root);
+        assertNotEquals(d, Mcts.select(arena, root, first, 3));
+    }
+
+    @Test
+    public void testReusedTreeRepeatsSearch() {
+        Game game = Perft.gameAt(Perft.opening("Apollo", "Hephaestus"));
+        Mcts engine = new Mcts(11, 1);
+        Mcts.Result first = engine.search(game, 60_000, 300, 1, 1);
+        Mcts.Result second = engine.search(game, 60_000, 300, 1, 1);
+        assertEquals("The tree is reset between searches", first.getNodes(), second.getNodes());
+        assertEquals(first.getTurn(), second.getTurn());
+        assertEquals(first.getVisits(), second.getVisits());
+        assertEquals(first.getTurn(), new Mcts(11, 1).search(game, 60_000, 300, 1, 1).getTurn());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsMoreTreesThanThreads() {
+        new Mcts(1, 1).search(Perft.gameAt(Perft.opening("None", "None")), 100, 100, 1, 2);
+    }
+}
@@ -1,6 +1,5 @@
 package org.example;
 
-import org.example.Exceptions.IllegalBuildException;
 import org.example.godcards.Minotaur;
 
 import org.junit.Test;
@@ -32,6 +31,8 @@ public class MinotaurTest {
         board = game.getBoard();
         minotaur = new Minotaur();
         game.getGodCards().put(player1, minotaur);
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
     }
 
     @Test
@@ -42,11 +43,15 @@ public class MinotaurTest {
 
         board.placeWorkerAt(worker1, from);
         board.placeWorkerAt(worker2, to);
+        game.setCurrentWorker(worker1);
 
-        assertTrue("Minotaur should be able to push opponent", minotaur.modifyMoveValidation(worker1, from, to, board));
-        assertTrue("Minotaur should execute push successfully", minotaur.preMoveExecution(worker1, from, to, board));
-        assertNull("Original position should be empty", board.getSquare(to).getOccupiedWorker());
+        int action = game.prepareMove(to);
+        assertFalse("Minotaur should be able to push opponent", Action.isRejected(action));
+        assertEquals("The push target is part of the token", board.cellOf(pushTo), Action.displacedCell(action));
+        game.executeAction(action);
+        assertEquals(worker1, board.getSquare(to).getOccupiedWorker());
         assertEquals("Opponent should be pushed to the correct position", worker2, board.getSquare(pushTo).getOccupiedWorker());
+        assertNull("Original position should be empty", board.getSquare(from).getOccupiedWorker());
     }
 
     @Test
@@ -59,7 +64,7 @@ public class MinotaurTest {
         board.placeWorkerAt(worker1, from);
         board.placeWorkerAt(worker2, to);
 
-        assertFalse("Minotaur should not be able to push opponent if space behind is occupied", minotaur.modifyMoveValidation(worker1, from, to, board));
+        assertFalse("Minotaur should not be able to push opponent if space behind is occupied", canMove(worker1, to));
     }
 
     @Test
@@ -70,23 +75,23 @@ public class MinotaurTest {
         board.placeWorkerAt(worker1, from);
         board.placeWorkerAt(worker2, to); // Place opponent worker at the edge of the board
 
-        assertFalse("Minotaur should not be able to push opponent out of bounds", minotaur.modifyMoveValidation(worker1, from, to, board));
+        assertFalse("Minotaur should not be able to push opponent out of bounds", canMove(worker1, to));
     }
 
     @Test
     public void testMinotaurCannotPushIntoDome() {
         BoardPosition from = new BoardPosition(1, 1);
         BoardPosition to = new BoardPosition(1, 2);
-        BoardPosition behind = new BoardPosition(1, 2);
+        BoardPosition behind = new BoardPosition(1, 3);
 
         board.placeWorkerAt(worker1, from);
         board.placeWorkerAt(worker2, to);
         board.getSquare(behind).buildBlock();
         board.getSquare(behind).buildBlock();
         board.getSquare(behind).buildBlock();
-        board.getSquare(behind).buildBlock(); // Place a dome behind the target worker
+        board.getSquare(behind).placeDome(); // Place a dome behind the target worker
 
-        assertFalse("Minotaur should not be able to push opponent into a dome", minotaur.modifyMoveValidation(worker1, from, to, board));
+        assertFalse("Minotaur should not be able to push opponent into a dome", canMove(worker1, to));
     }
 
     @Test
@@ -99,7 +104,7 @@ public class MinotaurTest {
         board.placeWorkerAt(worker1, from);
         board.placeWorkerAt(worker3, to); // Place same player's other worker ahead
 
-        assertFalse("Minotaur should not be able to push own worker", minotaur.modifyMoveValidation(worker1, from, to, board));
+        assertFalse("Minotaur should not be able to push own worker", canMove(worker1, to));
     }
 
     @Test
@@ -116,9 +121,58 @@ public class MinotaurTest {
         board.placeWorkerAt(worker1, from);
         board.placeWorkerAt(worker2, to);
 
-        assertTrue("Minotaur move should be valid for pushing", minotaur.modifyMoveValidation(worker1, from, to, board));
-        assertTrue("Minotaur should execute push", minotaur.preMoveExecution(worker1, from, to, board));
+        game.setCurrentWorker(worker1);
+
+        int action = game.prepareMove(to);
+        assertFalse("Minotaur move should be valid for pushing", Action.isRejected(action));
+        assertFalse("Pushing an opponent to the third level should not count as a win for Minotaur", Action.isWin(action));
+        game.executeAction(action);
+        assertEquals(worker2, board.getSquare(behind).getOccupiedWorker());
+        assertEquals(Game.GamePhase.BUILD, game.getGamePhase());
+    }
+
+    @Test
+    public void testMinotaurMoveMaskOnlyIncludesPushableOpponents() {
+        BoardPosition from = new BoardPosition(0, 0);
+        board.placeWorkerAt(worker1, from);
+        board.placeWorkerAt(worker2, new BoardPosition(1, 1)); // can be pushed to (2, 2)
+        Worker edgeWorker = new Worker("B2", player2);
+        board.placeWorkerAt(edgeWorker, new BoardPosition(0, 1)); // would be pushed to (0, 2), which is blocked
+        board.placeWorkerAt(new Worker("A2", player1), new BoardPosition(0, 2));
+
+        long mask = game.calculateLegalMoveMask(worker1);
+        assertTrue("Pushable opponent should be a legal target", (mask & BitBoard.bit(BitBoard.indexOf(1, 1))) != 0);
+        assertFalse("Opponent with a blocked square behind should not be a legal target", (mask & BitBoard.bit(BitBoard.indexOf(0, 1))) != 0);
+    }
+
+    @Test
+    public void testUnmakeMinotaurPush() {
+        Worker a1 = player1.getWorkers().get(0);
+        Worker b1 = player2.getWorkers().get(0);
+        board.placeWorkerAt(a1, new BoardPosition(1, 1));
+        board.placeWorkerAt(b1, new BoardPosition(1, 2));
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+
+        assertTrue(game.makeMove(a1, new BoardPosition(1, 2)));
+        assertEquals(new BoardPosition(1, 3), b1.getPosition());
+
+        game.unmakeAction();
+        assertEquals(new BoardPosition(1, 1), a1.getPosition());
+        assertEquals("Pushed worker should be back", new BoardPosition(1, 2), b1.getPosition());
+        assertFalse(board.getSquare(new BoardPosition(1, 3)).getIsOccupied());
+    }
+
 
-        assertFalse("Pushing an opponent to the third level should not count as a win for Minotaur", minotaur.checkWinCondition(worker1, from, to, board));
+    /**
+     * Helper method to validate a move of the given worker through the game's action tokens
+     *
+     * @param worker worker that moves
+     * @param to     position to move to
+     * @return true if the game accepts the move
+     */
+    private boolean canMove(Worker worker, BoardPosition to) {
+        game.setCurrentWorker(worker);
+        return !Action.isRejected(game.prepareMove(to));
     }
 }
@@ -0,0 +1,71 @@
+package org.example;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class MoveTablesTest {
+
+    @Test
+    public void testNeighbourCellsMatchMask() {
+        for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+            long mask = 0;
+            for (int neighbour : MoveTables.STANDARD.neighbourCells(cell)) {
+                mask |= BitBoard.bit(neighbour);
+            }
+            assertEquals("Neighbour list and mask should agree for cell " + cell, MoveTables.STANDARD.neighbourMask(cell), mask);
+        }
+    }
+
+    @Test
+    public void testPushTargetInsideBoard() {
+        int from = BitBoard.indexOf(1, 1);
+        assertEquals(BitBoard.indexOf(1, 3), MoveTables.STANDARD.pushTarget(from, BitBoard.indexOf(1, 2)));
+        assertEquals(BitBoard.indexOf(3, 3), MoveTables.STANDARD.pushTarget(from, BitBoard.indexOf(2, 2)));
+        assertEquals(BitBoard.indexOf(3, 1), MoveTables.STANDARD.pushTarget(from, BitBoard.indexOf(2, 1)));
+    }
+
+    @Test
+    public void testPushTargetOffBoardOrNotAdjacent() {
+        assertEquals(MoveTables.NONE, MoveTables.STANDARD.pushTarget(BitBoard.indexOf(4, 3), BitBoard.indexOf(4, 4)));
+        assertEquals(MoveTables.NONE, MoveTables.STANDARD.pushTarget(BitBoard.indexOf(0, 0), BitBoard.indexOf(2, 2)));
+    }
+
+    @Test
+    public void testNeighbourInDirection() {
+        int centre = BitBoard.indexOf(2, 2);
+        for (int d = 0; d < MoveTables.DIRECTIONS; d++) {
+            int next = MoveTables.STANDARD.neighbour(centre, d);
+            assertEquals("Two steps in one direction should land on the push target", MoveTables.STANDARD.neighbour(next, d), MoveTables.STANDARD.pushTarget(centre, next));
+        }
+        assertEquals(MoveTables.NONE, MoveTables.STANDARD.neighbour(BitBoard.indexOf(0, 0), 0));
+    }
+
+    @Test
+    public void testLargerBoardTables() {
+        MoveTables tables = MoveTables.of(8, 8);
+        assertSame("Tables are shared per size", tables, MoveTables.of(8, 8));
+        assertEquals(-1L, tables.allCells());
+        int corner = tables.indexOf(7, 7);
+        assertEquals(63, corner);
+        assertEquals(3, Long.bitCount(tables.neighbourMask(corner)));
+        assertEquals(tables.indexOf(5, 5), tables.pushTarget(corner, tables.indexOf(6, 6)));
+        assertEquals(MoveTables.NONE, tables.cellOf(BoardPosition.of(8, 0)));
+        assertEquals(BoardPosition.of(2, 6), tables.positionOf(tables.indexOf(2, 6)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoardOverSixtyFourCellsIsRejected() {
+        MoveTables.of(9, 9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOverflowingBoardSizeIsRejected() {
+        MoveTables.of(65536, 65536);
+    }
+}
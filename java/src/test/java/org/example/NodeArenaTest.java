@@ -0,0 +1,74 @@
+package org.example;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class NodeArenaTest {
+
+    @Test
+    public void testChildrenAreARange() {
+        NodeArena arena = new NodeArena(1);
+        int root = arena.allocateRoot();
+        assertTrue(arena.firstChild(root) < 0);
+
+        assertTrue(arena.expand(root, new int[]{10, 11, 12}, 3));
+        int first = arena.firstChild(root);
+        assertEquals(3, arena.childCount(root));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(10 + i, arena.turn(first + i));
+            assertTrue(arena.firstChild(first + i) < 0);
+        }
+        assertFalse("A node is expanded once", arena.expand(root, new int[]{20}, 1));
+        assertEquals(4, arena.size());
+    }
+
+    @Test
+    public void testVisitsAndRewardsAccumulate() {
+        NodeArena arena = new NodeArena(1);
+        int root = arena.allocateRoot();
+        arena.visit(root);
+        arena.visit(root);
+        arena.credit(root, 2);
+        assertEquals(2, arena.visits(root));
+        assertEquals(2, arena.reward(root));
+    }
+
+    @Test
+    public void testFullArenaLeavesNodeUnexpanded() {
+        NodeArena arena = new NodeArena(1);
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        int node = arena.allocateRoot();
+        while (arena.getCapacity() - arena.size() >= turns.length) {
+            assertTrue(arena.expand(node, turns, turns.length));
+            node = arena.firstChild(node);
+        }
+        int free = arena.getCapacity() - arena.size();
+        assertFalse(arena.expand(node, turns, free + 1));
+        assertTrue("The node can still be expanded later", arena.firstChild(node) < 0);
+        assertTrue(arena.expand(node, turns, free));
+        assertEquals(free, arena.childCount(node));
+        assertEquals(-1, arena.allocateRoot());
+    }
+
+    @Test
+    public void testClearReusesHandles() {
+        NodeArena arena = new NodeArena(1);
+        int root = arena.allocateRoot();
+        arena.expand(root, new int[]{1, 2}, 2);
+        arena.visit(root);
+
+        arena.clear();
+        assertEquals(0, arena.size());
+        int again = arena.allocateRoot();
+        assertEquals(root, again);
+        assertEquals(0, arena.visits(again));
+        assertTrue(arena.firstChild(again) < 0);
+    }
+}
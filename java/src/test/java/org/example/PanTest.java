@@ -1,6 +1,5 @@
 package org.example;
 
-import org.example.Exceptions.IllegalBuildException;
 import org.example.godcards.Pan;
 
 import org.junit.Test;
@@ -49,8 +48,11 @@ public class PanTest {
         board.placeWorkerAt(worker1, initialPosition);
 
         // Move the worker down two levels
-        assertTrue("Move should be legal", pan.modifyMoveValidation(worker1, initialPosition, targetPosition, board));
-        assertTrue("Pan should win by moving down two levels", pan.checkWinCondition(worker1, initialPosition, targetPosition, board));
+        int action = prepareMove(targetPosition);
+        assertFalse("Move should be legal", Action.isRejected(action));
+        assertTrue("Pan should win by moving down two levels", Action.isWin(action));
+        game.executeAction(action);
+        assertEquals(Game.GamePhase.GAME_OVER, game.getGamePhase());
     }
 
     @Test
@@ -68,8 +70,36 @@ public class PanTest {
         board.placeWorkerAt(worker1, initialPosition);
 
         // Move the worker on the same level
-        assertTrue("Move should be legal", pan.modifyMoveValidation(worker1, initialPosition, targetPosition, board));
-        assertTrue("Pan should win by standard win condition", pan.checkWinCondition(worker1, initialPosition, targetPosition, board));
+        int action = prepareMove(targetPosition);
+        assertFalse("Move should be legal", Action.isRejected(action));
+        assertTrue("Pan should win by standard win condition", Action.isWin(action));
     }
 
+    @Test
+    public void testPanThreatensToWinByDescending() {
+        BoardPosition initialPosition = new BoardPosition(2, 2);
+        BoardPosition targetPosition = new BoardPosition(2, 3);
+        board.getSquare(initialPosition).buildBlock();
+        board.getSquare(initialPosition).buildBlock(); // level 2
+        board.getSquare(targetPosition).buildBlock(); // level 1
+        board.placeWorkerAt(worker1, initialPosition);
+
+        long threats = game.getWinningMoveMask(player1);
+        assertEquals("Pan threatens every ground-level neighbour", 7, Long.bitCount(threats));
+        assertEquals(0, threats & BitBoard.bit(board.cellOf(targetPosition)));
+        assertTrue(game.canWinNextMove(player1));
+    }
+
+    /**
+     * Helper method to validate a move of worker1 into an action token
+     *
+     * @param to position to move to
+     * @return the token, or a rejected code
+     */
+    private int prepareMove(BoardPosition to) {
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+        game.setCurrentWorker(worker1);
+        return game.prepareMove(to);
+    }
 }
@@ -0,0 +1,72 @@
+package org.example;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class PerftTest {
+
+    @Test
+    public void testDepthOneMatchesGenerator() {
+        Game game = Perft.gameAt(Perft.opening("None", "None"));
+        assertEquals(game.generateTurns(new int[TurnGenerator.MAX_TURNS]), Perft.perft(game, 1));
+    }
+
+    // Pinned counts: a change here means the rules engine changed behaviour.
+    @Test
+    public void testKnownCounts() {
+        assertEquals(80, Perft.perft(Perft.gameAt(Perft.opening("None", "None")), 1));
+        assertEquals(6176, Perft.perft(Perft.gameAt(Perft.opening("None", "None")), 2));
+        assertEquals(6372, Perft.perft(Perft.gameAt(Perft.opening("Apollo", "Minotaur")), 2));
+        assertEquals(12088, Perft.perft(Perft.gameAt(Perft.opening("Hephaestus", "Pan")), 2));
+        assertEquals(32616, Perft.perft(Perft.gameAt(Perft.opening("Demeter", "Pan")), 2));
+    }
+
+    @Test
+    public void testLargeBoardIncludingLastCell() {
+        Player playerA = new Player("A");
+        Player playerB = new Player("B");
+        Game game = new Game(playerA, playerB, 8, 8);
+        game.placeWorker(playerA.getWorkers().get(0), BoardPosition.of(1, 1));
+        game.placeWorker(playerA.getWorkers().get(1), BoardPosition.of(7, 7)); // cell 63, the last bit of the mask
+        game.placeWorker(playerB.getWorkers().get(0), BoardPosition.of(1, 6));
+        game.placeWorker(playerB.getWorkers().get(1), BoardPosition.of(6, 1));
+        MoveTables tables = game.getBoard().getTables();
+        long expected = 0;
+        for (int from : new int[]{tables.indexOf(1, 1), tables.indexOf(7, 7)}) {
+            for (int to : tables.neighbourCells(from)) {
+                expected += tables.neighbourCells(to).length; // the workers are too far apart to block each other
+            }
+        }
+        long key = game.getZobristKey();
+        assertEquals(expected, Perft.perft(game, 1));
+        Perft.perft(game, 2);
+        assertEquals(key, game.getZobristKey());
+        assertEquals(BoardPosition.of(7, 7), playerA.getWorkers().get(1).getPosition());
+    }
+
+    @Test
+    public void testPerftLeavesGameUnchanged() {
+        Game game = Perft.gameAt(Perft.opening("Apollo", "Demeter"));
+        GameSnapshot before = game.snapshot();
+        long key = game.getZobristKey();
+        Perft.perft(game, 2);
+        assertEquals(before, game.snapshot());
+        assertEquals(key, game.getZobristKey());
+    }
+
+    @Test
+    public void testParallelDivideMatchesSequential() {
+        GameSnapshot opening = Perft.opening("Minotaur", "Hephaestus");
+        Perft.Result sequential = Perft.divide(opening, 2, 1);
+        Perft.Result parallel = Perft.divide(opening, 2, 3);
+        assertArrayEquals(sequential.getRootTurns(), parallel.getRootTurns());
+        assertArrayEquals(sequential.getCounts(), parallel.getCounts());
+        assertEquals(Perft.perft(Perft.gameAt(opening), 2), sequential.getNodes());
+    }
+}
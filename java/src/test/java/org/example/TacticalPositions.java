@@ -0,0 +1,71 @@
+package org.example;
+
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Positions with one right answer, shared by the tests of the computer players.
+ *
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+final class TacticalPositions {
+    static final BoardPosition WINNING_CELL = BoardPosition.of(2, 2);
+    static final BoardPosition THREAT_CELL = BoardPosition.of(0, 2);
+
+    private TacticalPositions() {
+    }
+
+    /**
+     * The opening with A's worker on level 2 next to the level-3 tower on {@link #WINNING_CELL}.
+     *
+     * @return A new game, A to move.
+     */
+    static Game immediateWin() {
+        Game game = Perft.gameAt(Perft.opening("None", "None"));
+        Board board = game.getBoard();
+        board.getSquare(BoardPosition.of(1, 1)).buildBlock();
+        board.getSquare(BoardPosition.of(1, 1)).buildBlock();
+        for (int level = 0; level < 3; level++) {
+            board.getSquare(WINNING_CELL).buildBlock();
+        }
+        return game;
+    }
+
+    /**
+     * The opening with B's worker on level 2 next to the level-3 tower on {@link #THREAT_CELL}, which only a dome
+     * from A stops.
+     *
+     * @return A new game, A to move.
+     */
+    static Game threatToBlock() {
+        Game game = Perft.gameAt(Perft.opening("None", "None"));
+        Board board = game.getBoard();
+        board.getSquare(BoardPosition.of(1, 3)).buildBlock();
+        board.getSquare(BoardPosition.of(1, 3)).buildBlock();
+        for (int level = 0; level < 3; level++) {
+            board.getSquare(THREAT_CELL).buildBlock();
+        }
+        assertTrue(game.canWinNextMove(game.getPlayer(1)));
+        return game;
+    }
+
+    /**
+     * Runs a search and checks that it handed the game back in the position it found it.
+     *
+     * @param game   The game searched.
+     * @param search The search to run.
+     * @param <R>    Type of the search result.
+     * @return The search result.
+     */
+    static <R> R searchInPlace(Game game, Supplier<R> search) {
+        GameSnapshot before = game.snapshot();
+        long key = game.getZobristKey();
+        R result = search.get();
+        assertEquals(before, game.snapshot());
+        assertEquals(key, game.getZobristKey());
+        return result;
+    }
+}
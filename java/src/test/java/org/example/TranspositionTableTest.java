@@ -0,0 +1,69 @@
+package org.example;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class TranspositionTableTest {
+
+    @Test
+    public void testStoreAndProbeRoundTrip() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x123456789ABCDEFL;
+        int turn = Turn.encode(3, 24, 18, Turn.NONE, Turn.NONE, true);
+        table.store(key, turn, -AlphaBeta.WIN + 5, 17, TranspositionTable.UPPER);
+
+        long entry = table.probe(key);
+        assertEquals(turn, TranspositionTable.turn(entry));
+        assertEquals(-AlphaBeta.WIN + 5, TranspositionTable.score(entry));
+        assertEquals(17, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.UPPER, TranspositionTable.bound(entry));
+        assertEquals(TranspositionTable.MISS, table.probe(key ^ 1L << 40));
+    }
+
+    @Test
+    public void testNoTurnRoundTrips() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(42, AlphaBeta.NO_TURN, 0, 0, TranspositionTable.EXACT);
+        assertEquals(AlphaBeta.NO_TURN, TranspositionTable.turn(table.probe(42)));
+    }
+
+    @Test
+    public void testReplacementKeepsDeeperResultOfSamePosition() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 7;
+        long other = key + table.getCapacity(); // same slot, different position
+        table.store(key, 1, 10, 5, TranspositionTable.EXACT);
+        table.store(key, 2, 20, 3, TranspositionTable.LOWER);
+        assertEquals(5, TranspositionTable.depth(table.probe(key)));
+
+        table.store(key, 3, 30, 5, TranspositionTable.LOWER);
+        assertEquals(3, TranspositionTable.turn(table.probe(key)));
+
+        table.store(other, 4, 40, 1, TranspositionTable.EXACT);
+        assertEquals(TranspositionTable.MISS, table.probe(key));
+        assertEquals(4, TranspositionTable.turn(table.probe(other)));
+    }
+
+    @Test
+    public void testClearAndSize() {
+        TranspositionTable table = new TranspositionTable(1);
+        assertEquals(1 << 16, table.getCapacity());
+        for (int key = 0; key < table.getCapacity(); key++) {
+            table.store(key, 0, 0, 1, TranspositionTable.EXACT);
+        }
+        assertEquals(1000, table.getPermilleUsed());
+        table.clear();
+        assertEquals(0, table.getPermilleUsed());
+        assertEquals(TranspositionTable.MISS, table.probe(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsZeroSize() {
+        new TranspositionTable(0);
+    }
+}
@@ -0,0 +1,156 @@
+package org.example;
+
+import org.example.godcards.GodCardFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Lu Wang
+ * @AndrewID luw2
+ */
+public class TurnGeneratorTest {
+
+    /**
+     * Builds a mid-game position: workers next to each other, a few towers, and a level-2 worker beside a level-3 tower.
+     */
+    private Game midGame(String godCard) {
+        Player player1 = new Player("A");
+        Player player2 = new Player("B");
+        Game game = new Game(player1, player2);
+        game.getGodCards().put(player1, GodCardFactory.createGodCard(godCard));
+        Board board = game.getBoard();
+        build(board, 1, 1, 2);
+        build(board, 2, 1, 3);
+        build(board, 0, 2, 1);
+        build(board, 3, 3, 3);
+        board.getSquare(BoardPosition.of(3, 3)).placeDome();
+        build(board, 2, 3, 1);
+        board.placeWorkerAt(player1.getWorkers().get(0), BoardPosition.of(1, 1));
+        board.placeWorkerAt(player1.getWorkers().get(1), BoardPosition.of(2, 2));
+        board.placeWorkerAt(player2.getWorkers().get(0), BoardPosition.of(1, 2));
+        board.placeWorkerAt(player2.getWorkers().get(1), BoardPosition.of(3, 2));
+        game.setGamePhase(Game.GamePhase.MOVE);
+        game.setPlayerAction(Game.PlayerAction.MOVE);
+        return game;
+    }
+
+    private void build(Board board, int x, int y, int levels) {
+        for (int i = 0; i < levels; i++) {
+            board.getSquare(BoardPosition.of(x, y)).buildBlock();
+        }
+    }
+
+    /**
+     * Enumerates turns by trying every move, build and second build through the game's own rules.
+     */
+    private int[] bruteForceTurns(Game game) {
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        int count = 0;
+        int side = game.playerIndex(game.getCurrentPlayer());
+        for (int slot = side * 2; slot < side * 2 + 2; slot++) {
+            Worker worker = game.getWorker(slot);
+            for (int to = 0; to < BitBoard.CELLS; to++) {
+                int[] opponentsBefore = opponentCells(game, side);
+                if (!game.makeMove(worker, BoardPosition.ofIndex(to))) {
+                    continue;
+                }
+                int displaced = displacedCell(opponentsBefore, opponentCells(game, side));
+                if (game.getGamePhase() == Game.GamePhase.GAME_OVER) {
+                    turns[count++] = Turn.encode(slot, to, Turn.NONE, Turn.NONE, displaced, true);
+                }
+                for (int build = 0; build < BitBoard.CELLS && game.getGamePhase() == Game.GamePhase.BUILD; build++) {
+                    if (!game.makeBuild(BoardPosition.ofIndex(build))) {
+                        continue;
+                    }
+                    turns[count++] = Turn.encode(slot, to, build, Turn.NONE, displaced, false);
+                    for (int second = 0; second < BitBoard.CELLS && game.getGamePhase() == Game.GamePhase.SECOND_BUILD; second++) {
+                        if (game.makeBuild(BoardPosition.ofIndex(second))) {
+                            turns[count++] = Turn.encode(slot, to, build, second, displaced, false);
+                            game.unmakeAction();
+                        }
+                    }
+                    game.unmakeAction();
+                }
+                game.unmakeAction();
+            }
+        }
+        return sorted(turns, count);
+    }
+
+    private int[] opponentCells(Game game, int side) {
+        int other = 1 - side;
+        return new int[]{game.getWorker(other * 2).getPosition().getIndex(), game.getWorker(other * 2 + 1).getPosition().getIndex()};
+    }
+
+    private int displacedCell(int[] before, int[] after) {
+        for (int i = 0; i < before.length; i++) {
+            if (before[i] != after[i]) {
+                return after[i];
+            }
+        }
+        return Turn.NONE;
+    }
+
+    private int[] sorted(int[] turns, int count) {
+        int[] result = Arrays.copyOf(turns, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private int[] generatedTurns(Game game) {
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        return sorted(turns, game.generateTurns(turns));
+    }
+
+    @Test
+    public void testMatchesRulesWithoutGodCard() {
+        Game game = midGame("None");
+        assertArrayEquals(bruteForceTurns(game), generatedTurns(game));
+    }
+
+    @Test
+    public void testMatchesRulesForEveryGodCard() {
+        for (String godCard : new String[]{"Apollo", "Minotaur", "Demeter", "Hephaestus", "Pan"}) {
+            Game game = midGame(godCard);
+            int[] expected = bruteForceTurns(game);
+            assertArrayEquals(godCard + " turns should match the rules", expected, generatedTurns(game));
+        }
+    }
+
+    @Test
+    public void testGeneratesWinsAndDisplacements() {
+        Game game = midGame("Apollo");
+        int[] turns = generatedTurns(game);
+        boolean hasWin = false;
+        boolean hasSwap = false;
+        for (int turn : turns) {
+            hasWin |= Turn.isWin(turn) && Turn.moveCell(turn) == BitBoard.indexOf(2, 1);
+            hasSwap |= Turn.displacedCell(turn) == BitBoard.indexOf(1, 1) && Turn.moveCell(turn) == BitBoard.indexOf(1, 2);
+        }
+        assertTrue("Climbing from level 2 to level 3 should be a winning turn", hasWin);
+        assertTrue("Apollo should be able to swap with the adjacent opponent", hasSwap);
+    }
+
+    @Test
+    public void testGenerationDoesNotChangeGame() {
+        Game game = midGame("Minotaur");
+        GameSnapshot before = game.snapshot();
+        long key = game.getZobristKey();
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        game.generateTurns(turns);
+        assertEquals(before, game.snapshot());
+        assertEquals(key, game.getZobristKey());
+    }
+
+    @Test
+    public void testNoTurnsOutsideMovePhase() {
+        Game game = midGame("None");
+        game.setGamePhase(Game.GamePhase.BUILD);
+        assertEquals(0, game.generateTurns(new int[TurnGenerator.MAX_TURNS]));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Before;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 
 /**
@@ -40,4 +41,20 @@ public class WorkerTest {
         assertEquals("Worker's owner should have the correct name.", "Alice", worker.getOwnerID());
     }
 
+    @Test
+    public void testWorkerIndexFollowsOwnerSeat() {
+        Player other = new Player("Bob");
+        assertEquals("A worker outside a game has no index.", -1, player.getWorkers().get(1).getIndex());
+        new Game(player, other);
+        assertEquals(1, player.getWorkers().get(1).getIndex());
+        assertEquals(2, other.getWorkers().get(0).getIndex());
+        assertEquals("A worker the owner does not list has no index.", -1, worker.getIndex());
+    }
+
+    @Test
+    public void testAllyComparesOwners() {
+        Player other = new Player("Bob");
+        assertTrue(worker.isAllyOf(player.getWorkers().get(0)));
+        assertFalse(worker.isAllyOf(other.getWorkers().get(0)));
+    }
 }